@@ -6,11 +6,18 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.core.constella.api.constellation.service.ConstellationPinOrderMigration;
+import com.core.constella.api.diary.service.DiaryCardService;
 import com.core.constella.api.diary.service.DiaryService;
+import com.core.constella.api.diary.service.DiaryStatsService;
+import com.core.constella.api.map.service.MapClusterService;
+import com.core.constella.api.user.service.SimilarTravelerService;
 
 @SpringBootApplication
 @EnableSpringDataWebSupport(pageSerializationMode = PageSerializationMode.VIA_DTO)
+@EnableScheduling
 public class ConstellaApplication {
 
 	public static void main(String[] args) {
@@ -18,10 +25,19 @@ public class ConstellaApplication {
 	}
 
 	@Bean
-    public CommandLineRunner run(DiaryService diaryService) {
+    public CommandLineRunner run(DiaryService diaryService, DiaryCardService diaryCardService,
+                                 DiaryStatsService diaryStatsService,
+                                 ConstellationPinOrderMigration constellationPinOrderMigration,
+                                 MapClusterService mapClusterService,
+                                 SimilarTravelerService similarTravelerService) {
         return args -> {
+            constellationPinOrderMigration.migrateLegacyPinOrders();
             diaryService.updateAllDiariesWithCountryLatLng();
             System.out.println("모든 Diary의 위도/경도 업데이트 완료!");
+            diaryCardService.backfillMissingCards();
+            diaryStatsService.reconcileAll();
+            mapClusterService.rebuild();
+            similarTravelerService.loadIndex();
         };
     }
 
@@ -0,0 +1,160 @@
+package com.core.constella.api.constellation.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 별자리 핀 순서(나라 코드 목록)를 한 컬럼에 저장하기 위한 바이너리 인코딩
+ * - 영문 대문자 3글자 코드(KOR, JPN ...)는 글자당 5비트씩 15비트로 묶어서 2바이트 (최상위 비트 0)
+ * - 그 외 값(이전 방식의 한글 나라 이름 등)은 0x8000 | UTF-8 길이 2바이트 + UTF-8 바이트
+ * 히스토리는 직전 스냅샷과의 차이(앞/뒤 공통 구간 길이 + 바뀐 가운데 구간)만 저장할 수 있음
+ */
+public final class PinOrderCodec {
+    private static final int ESCAPE_FLAG = 0x8000;
+    private static final int MAX_ESCAPED_LENGTH = 0x7FFF;
+
+    private PinOrderCodec() {
+    }
+
+    public static byte[] encode(List<String> pins) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(pins.size() * 2);
+        writePins(out, pins, 0, pins.size());
+        return out.toByteArray();
+    }
+
+    public static List<String> decode(byte[] data) {
+        List<String> pins = new ArrayList<>();
+        readPins(data, 0, pins);
+        return pins;
+    }
+
+    // 순서까지 포함한 핀 목록의 SHA-256 (hex 64자), 같은 순서면 같은 값
+    public static String fingerprint(List<String> pins) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(encode(pins));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // previous -> next 변경분: [공통 앞부분 길이][공통 뒷부분 길이][가운데 구간 핀들]
+    public static byte[] encodeDelta(List<String> previous, List<String> next) {
+        int prefix = 0;
+        int max = Math.min(previous.size(), next.size());
+        while (prefix < max && previous.get(prefix).equals(next.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && previous.get(previous.size() - 1 - suffix).equals(next.get(next.size() - 1 - suffix))) {
+            suffix++;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarInt(out, prefix);
+        writeVarInt(out, suffix);
+        writePins(out, next, prefix, next.size() - suffix);
+        return out.toByteArray();
+    }
+
+    public static List<String> applyDelta(List<String> previous, byte[] delta) {
+        int[] position = {0};
+        int prefix = readVarInt(delta, position);
+        int suffix = readVarInt(delta, position);
+        if (prefix + suffix > previous.size()) {
+            throw new IllegalArgumentException("Delta does not match previous pin order");
+        }
+        List<String> pins = new ArrayList<>(previous.subList(0, prefix));
+        readPins(delta, position[0], pins);
+        pins.addAll(previous.subList(previous.size() - suffix, previous.size()));
+        return pins;
+    }
+
+    private static void writePins(ByteArrayOutputStream out, List<String> pins, int from, int to) {
+        for (int i = from; i < to; i++) {
+            String pin = pins.get(i);
+            if (isPackable(pin)) {
+                int packed = ((pin.charAt(0) - 'A') << 10) | ((pin.charAt(1) - 'A') << 5) | (pin.charAt(2) - 'A');
+                out.write(packed >>> 8);
+                out.write(packed & 0xFF);
+            } else {
+                byte[] utf8 = pin.getBytes(StandardCharsets.UTF_8);
+                if (utf8.length > MAX_ESCAPED_LENGTH) {
+                    throw new IllegalArgumentException("Pin value is too long: " + utf8.length + " bytes");
+                }
+                int header = ESCAPE_FLAG | utf8.length;
+                out.write(header >>> 8);
+                out.write(header & 0xFF);
+                out.write(utf8, 0, utf8.length);
+            }
+        }
+    }
+
+    private static void readPins(byte[] data, int offset, List<String> pins) {
+        int i = offset;
+        while (i < data.length) {
+            if (i + 1 >= data.length) {
+                throw new IllegalArgumentException("Truncated pin order data");
+            }
+            int word = ((data[i] & 0xFF) << 8) | (data[i + 1] & 0xFF);
+            i += 2;
+            if ((word & ESCAPE_FLAG) == 0) {
+                char[] code = {
+                        (char) ('A' + ((word >>> 10) & 0x1F)),
+                        (char) ('A' + ((word >>> 5) & 0x1F)),
+                        (char) ('A' + (word & 0x1F))
+                };
+                pins.add(new String(code));
+            } else {
+                int length = word & MAX_ESCAPED_LENGTH;
+                if (i + length > data.length) {
+                    throw new IllegalArgumentException("Truncated pin order data");
+                }
+                pins.add(new String(data, i, length, StandardCharsets.UTF_8));
+                i += length;
+            }
+        }
+    }
+
+    private static boolean isPackable(String pin) {
+        if (pin.length() != 3) {
+            return false;
+        }
+        for (int i = 0; i < 3; i++) {
+            char c = pin.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] data, int[] position) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            if (position[0] >= data.length) {
+                throw new IllegalArgumentException("Truncated pin order delta");
+            }
+            int b = data[position[0]++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.core.constella.api.constellation.codec;
+
+import java.util.List;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Constellation.pinOrder를 행 하나의 바이너리 컬럼으로 저장 (핀마다 한 행씩 쓰던 @ElementCollection 대체)
+@Converter
+public class PinOrderConverter implements AttributeConverter<List<String>, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(List<String> pinOrder) {
+        return pinOrder == null ? null : PinOrderCodec.encode(pinOrder);
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(byte[] data) {
+        return data == null ? null : PinOrderCodec.decode(data);
+    }
+}
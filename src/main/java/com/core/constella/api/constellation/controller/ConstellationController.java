@@ -1,13 +1,19 @@
 package com.core.constella.api.constellation.controller;
 
+import java.net.URI;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,11 +22,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.core.constella.api.constellation.dto.ConstellationHistoryResponse;
 import com.core.constella.api.constellation.dto.ConstellationPinDto;
 import com.core.constella.api.constellation.dto.ConstellationResponse;
 import com.core.constella.api.constellation.dto.ConstellationSaveRequest;
+import com.core.constella.api.constellation.service.ConstellationRenderService;
 import com.core.constella.api.constellation.service.ConstellationService;
 import com.core.constella.api.user.repository.UserRepository;
 
@@ -30,7 +38,11 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/constellation")
 @RequiredArgsConstructor
 public class ConstellationController {
+    private static final String RENDER_PATH = "/api/constellation/render/";
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
     private final ConstellationService constellationService;
+    private final ConstellationRenderService constellationRenderService;
     private final UserRepository userRepository;
     private static final Logger log = LoggerFactory.getLogger(ConstellationController.class);
 
@@ -155,6 +167,79 @@ public class ConstellationController {
         }
     }
 
+    // 저장된 별자리 이미지: 내용 지문 URL로 리다이렉트 (별자리가 바뀌면 다른 URL)
+    @GetMapping("/saved/{userId}/image.{format}")
+    public ResponseEntity<?> renderSavedConstellation(@PathVariable Long userId, @PathVariable String format) {
+        log.info("Rendering saved constellation for user: {} ({})", userId, format);
+        if (!ConstellationRenderService.isSupportedFormat(format)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap("message", "지원하지 않는 이미지 형식입니다: " + format));
+        }
+        try {
+            List<ConstellationPinDto> pins = constellationService.getSavedConstellationPinsForUser(userId);
+            return redirectToRender(constellationRenderService.render(pins, format), format);
+        } catch (IllegalArgumentException e) {
+            log.warn("Saved constellation not found for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Collections.singletonMap("message", "저장된 별자리를 찾을 수 없습니다: " + e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to render saved constellation for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Collections.singletonMap("message", "별자리 이미지를 만드는데 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    // 히스토리 시점의 별자리 이미지
+    @GetMapping("/history/{userId}/{historyId}/image.{format}")
+    public ResponseEntity<?> renderConstellationHistory(@PathVariable Long userId, @PathVariable Long historyId,
+                                                        @PathVariable String format) {
+        log.info("Rendering constellation history {} for user: {} ({})", historyId, userId, format);
+        if (!ConstellationRenderService.isSupportedFormat(format)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap("message", "지원하지 않는 이미지 형식입니다: " + format));
+        }
+        try {
+            List<ConstellationPinDto> pins = constellationService.getConstellationHistoryPins(userId, historyId);
+            return redirectToRender(constellationRenderService.render(pins, format), format);
+        } catch (IllegalArgumentException e) {
+            log.warn("Constellation history {} not found for user {}: {}", historyId, userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Collections.singletonMap("message", "별자리 히스토리를 찾을 수 없습니다: " + e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to render constellation history {}: {}", historyId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Collections.singletonMap("message", "별자리 이미지를 만드는데 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    // 렌더링된 이미지 (이름이 내용 지문이라 영구 캐시, ETag로 조건부 요청 304)
+    @GetMapping("/render/{fingerprint}.{format}")
+    public ResponseEntity<?> getRenderedConstellation(@PathVariable String fingerprint, @PathVariable String format,
+                                                      WebRequest webRequest) {
+        Path path = constellationRenderService.find(fingerprint, format);
+        if (path == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Collections.singletonMap("message", "별자리 이미지를 찾을 수 없습니다: " + fingerprint));
+        }
+        if (webRequest.checkNotModified("\"" + fingerprint + "\"")) {
+            return null;
+        }
+        MediaType mediaType = ConstellationRenderService.FORMAT_SVG.equals(format)
+            ? MediaType.valueOf("image/svg+xml") : MediaType.IMAGE_PNG;
+        return ResponseEntity.ok()
+            .cacheControl(IMMUTABLE)
+            .eTag(fingerprint)
+            .contentType(mediaType)
+            .body(new FileSystemResource(path));
+    }
+
+    private ResponseEntity<?> redirectToRender(String fingerprint, String format) {
+        return ResponseEntity.status(HttpStatus.FOUND)
+            .location(URI.create(RENDER_PATH + fingerprint + "." + format))
+            .cacheControl(CacheControl.noCache())
+            .build();
+    }
+
     @PostMapping("") // Handles POST requests to /api/constellation
     public ResponseEntity<?> handleConstellationBasePost() {
         log.warn("Received POST request to /api/constellation without /save suffix. This is likely a misrouted request.");
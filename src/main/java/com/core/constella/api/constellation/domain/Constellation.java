@@ -2,9 +2,11 @@ package com.core.constella.api.constellation.domain;
 
 import java.util.List;
 
+import com.core.constella.api.constellation.codec.PinOrderConverter;
 import com.core.constella.api.user.domain.User;
 
-import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -33,8 +35,14 @@ public class Constellation {
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ElementCollection
-    private List<String> pinOrder; // locationCode(혹은 Diary id) 순서대로 저장
+    // locationCode 순서를 한 컬럼에 인코딩해서 저장 (PinOrderCodec)
+    @Convert(converter = PinOrderConverter.class)
+    @Column(name = "pin_order_data", length = 4096)
+    private List<String> pinOrder;
+
+    // pinOrder의 지문 (PinOrderCodec.fingerprint), 같으면 저장을 건너뜀
+    @Column(name = "pin_order_fingerprint", length = 64)
+    private String pinOrderFingerprint;
 
     private String name; // 별자리 이름(옵션)
 } 
\ No newline at end of file
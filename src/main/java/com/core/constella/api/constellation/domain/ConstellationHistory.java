@@ -5,7 +5,7 @@ import java.util.List;
 
 import com.core.constella.api.user.domain.User;
 
-import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -13,6 +13,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -38,7 +39,19 @@ public class ConstellationHistory {
     @JoinColumn(name = "constellation_id")
     private Constellation constellation;
 
-    @ElementCollection
+    // keyframe이면 전체 핀 순서, 아니면 직전 히스토리 대비 변경분 (PinOrderCodec)
+    @Column(name = "pin_order_data", length = 4096)
+    private byte[] pinOrderData;
+
+    // 사용자별 연속 번호, KEYFRAME_INTERVAL마다 전체 스냅샷을 저장해서 복원 시 읽는 행 수를 제한
+    @Column(name = "keyframe")
+    private boolean keyframe;
+
+    @Column(name = "seq_no")
+    private int sequence;
+
+    // 복원된 핀 순서 (ConstellationHistoryStore가 채움)
+    @Transient
     private List<String> pinOrder;
 
     private LocalDateTime createdAt;
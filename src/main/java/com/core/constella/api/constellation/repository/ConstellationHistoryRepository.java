@@ -1,14 +1,28 @@
 package com.core.constella.api.constellation.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.core.constella.api.constellation.domain.ConstellationHistory;
 
 public interface ConstellationHistoryRepository extends JpaRepository<ConstellationHistory, Long> {
     Page<ConstellationHistory> findByUser_IdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     List<ConstellationHistory> findByUser_IdOrderByCreatedAtDesc(Long userId);
-} 
\ No newline at end of file
+
+    // 새 히스토리의 변경분 기준이 되는 직전 히스토리
+    Optional<ConstellationHistory> findTopByUser_IdOrderByIdDesc(Long userId);
+
+    // maxId 이하에서 가장 최근 keyframe id (복원 시작점)
+    @Query("SELECT MAX(h.id) FROM ConstellationHistory h WHERE h.user.id = :userId AND h.keyframe = true AND h.id <= :maxId")
+    Long findLatestKeyframeId(@Param("userId") Long userId, @Param("maxId") Long maxId);
+
+    // keyframe부터 toId까지의 히스토리를 순서대로 (변경분을 차례로 적용해서 복원)
+    @Query("SELECT h FROM ConstellationHistory h WHERE h.user.id = :userId AND h.id BETWEEN :fromId AND :toId ORDER BY h.id")
+    List<ConstellationHistory> findChain(@Param("userId") Long userId, @Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,99 @@
+package com.core.constella.api.constellation.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.core.constella.api.constellation.codec.PinOrderCodec;
+import com.core.constella.api.constellation.domain.ConstellationHistory;
+import com.core.constella.api.constellation.repository.ConstellationHistoryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 별자리 히스토리의 핀 순서 저장/복원
+ * 저장: 사용자별로 KEYFRAME_INTERVAL번째마다 전체 스냅샷(keyframe), 나머지는 직전 히스토리 대비 변경분만 기록
+ * 복원: 요청한 히스토리들 중 가장 오래된 것 이전의 keyframe부터 순서대로 변경분을 적용 (조회 2번)
+ */
+@Service
+@RequiredArgsConstructor
+public class ConstellationHistoryStore {
+    public static final int KEYFRAME_INTERVAL = 16;
+
+    private final ConstellationHistoryRepository constellationHistoryRepository;
+    private static final Logger log = LoggerFactory.getLogger(ConstellationHistoryStore.class);
+
+    // 저장 전에 호출, history의 pinOrder를 인코딩해서 pinOrderData/keyframe/sequence를 채움
+    public void encode(ConstellationHistory history) {
+        List<String> pinOrder = history.getPinOrder();
+        Long userId = history.getUser().getId();
+        ConstellationHistory previous = constellationHistoryRepository.findTopByUser_IdOrderByIdDesc(userId).orElse(null);
+        int sequence = previous != null ? previous.getSequence() + 1 : 0;
+        history.setSequence(sequence);
+
+        if (previous != null && sequence % KEYFRAME_INTERVAL != 0) {
+            decode(userId, List.of(previous));
+        }
+        // 직전 히스토리를 복원하지 못했으면(빈 목록, 저장 시에는 항상 1개 이상) 변경분 대신 keyframe으로 저장해서 체인을 다시 시작
+        if (previous == null || sequence % KEYFRAME_INTERVAL == 0 || previous.getPinOrder().isEmpty()) {
+            history.setKeyframe(true);
+            history.setPinOrderData(PinOrderCodec.encode(pinOrder));
+            return;
+        }
+        history.setKeyframe(false);
+        history.setPinOrderData(PinOrderCodec.encodeDelta(previous.getPinOrder(), pinOrder));
+    }
+
+    // 같은 사용자의 히스토리 목록에 복원된 pinOrder를 채움 (이미 채워진 것은 그대로)
+    public void decode(Long userId, Collection<ConstellationHistory> histories) {
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        for (ConstellationHistory history : histories) {
+            if (history.getPinOrder() == null) {
+                minId = Math.min(minId, history.getId());
+                maxId = Math.max(maxId, history.getId());
+            }
+        }
+        if (minId > maxId) {
+            return;
+        }
+
+        Long keyframeId = constellationHistoryRepository.findLatestKeyframeId(userId, minId);
+        List<ConstellationHistory> chain = constellationHistoryRepository.findChain(
+                userId, keyframeId != null ? keyframeId : minId, maxId);
+        List<String> previous = null;
+        for (ConstellationHistory history : chain) {
+            List<String> pins = history.getPinOrder();
+            if (pins == null) {
+                pins = decodeOne(history, previous);
+                history.setPinOrder(pins != null ? pins : List.of());
+            }
+            previous = pins;
+        }
+    }
+
+    // 복원할 수 없으면 null (이후 변경분도 다음 keyframe까지 null, 호출하는 쪽은 빈 목록으로 채워서 페이지 조회는 계속됨)
+    private List<String> decodeOne(ConstellationHistory history, List<String> previous) {
+        byte[] data = history.getPinOrderData();
+        if (data == null) {
+            log.warn("Constellation history {} has no encoded pin order", history.getId());
+            return null;
+        }
+        try {
+            if (history.isKeyframe()) {
+                return PinOrderCodec.decode(data);
+            }
+            if (previous == null) {
+                log.warn("Constellation history {} has no keyframe to apply its delta to", history.getId());
+                return null;
+            }
+            return PinOrderCodec.applyDelta(previous, data);
+        } catch (IllegalArgumentException e) {
+            log.warn("Constellation history {} has an invalid pin order: {}", history.getId(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.core.constella.api.constellation.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.core.constella.api.constellation.codec.PinOrderCodec;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 이전 @ElementCollection 테이블(constellation_pin_order, constellation_history_pin_order)에 있던 핀 순서를
+ * 인코딩 컬럼(pin_order_data)으로 옮기는 일회성 마이그레이션 (이미 옮긴 행은 건너뜀, 이전 테이블은 삭제하지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class ConstellationPinOrderMigration {
+    private static final String LEGACY_PIN_ORDER_TABLE = "constellation_pin_order";
+    private static final String LEGACY_HISTORY_PIN_ORDER_TABLE = "constellation_history_pin_order";
+
+    private final JdbcTemplate jdbcTemplate;
+    private static final Logger log = LoggerFactory.getLogger(ConstellationPinOrderMigration.class);
+
+    @Transactional
+    public void migrateLegacyPinOrders() {
+        int constellations = 0;
+        int histories = 0;
+        if (tableExists(LEGACY_PIN_ORDER_TABLE)) {
+            constellations = migrateConstellations();
+        }
+        if (tableExists(LEGACY_HISTORY_PIN_ORDER_TABLE)) {
+            histories = migrateHistories();
+        }
+        if (constellations > 0 || histories > 0) {
+            log.info("Migrated legacy pin orders: {} constellations, {} histories", constellations, histories);
+        }
+    }
+
+    private int migrateConstellations() {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM constellation WHERE pin_order_data IS NULL", Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<String>> legacy = loadLegacy(
+                "SELECT constellation_id, pin_order FROM " + LEGACY_PIN_ORDER_TABLE);
+        List<Object[]> updates = new ArrayList<>();
+        for (Long id : ids) {
+            updates.add(new Object[] {PinOrderCodec.encode(legacy.getOrDefault(id, List.of())), id});
+        }
+        jdbcTemplate.batchUpdate("UPDATE constellation SET pin_order_data = ? WHERE id = ?", updates);
+        return updates.size();
+    }
+
+    // 사용자별로 id 순서대로 keyframe/변경분을 다시 계산 (새 방식으로 저장된 행이 섞여 있으면 그 직전까지만 체인으로 연결)
+    private int migrateHistories() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, user_id FROM constellation_history WHERE pin_order_data IS NULL ORDER BY user_id, id");
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<String>> legacy = loadLegacy(
+                "SELECT constellation_history_id, pin_order FROM " + LEGACY_HISTORY_PIN_ORDER_TABLE);
+
+        List<Object[]> updates = new ArrayList<>();
+        Long currentUserId = null;
+        List<String> previous = null;
+        int sequence = 0;
+        for (Map<String, Object> row : rows) {
+            Long id = ((Number) row.get("id")).longValue();
+            Long userId = row.get("user_id") != null ? ((Number) row.get("user_id")).longValue() : null;
+            if (currentUserId == null || !currentUserId.equals(userId)) {
+                currentUserId = userId;
+                previous = null;
+                sequence = 0;
+            }
+            List<String> pins = legacy.getOrDefault(id, List.of());
+            boolean keyframe = previous == null || sequence % ConstellationHistoryStore.KEYFRAME_INTERVAL == 0;
+            byte[] data = keyframe ? PinOrderCodec.encode(pins) : PinOrderCodec.encodeDelta(previous, pins);
+            updates.add(new Object[] {data, keyframe, sequence, id});
+            previous = pins;
+            sequence++;
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE constellation_history SET pin_order_data = ?, keyframe = ?, seq_no = ? WHERE id = ?", updates);
+        return updates.size();
+    }
+
+    private Map<Long, List<String>> loadLegacy(String sql) {
+        Map<Long, List<String>> result = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            result.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getString(2));
+        });
+        return result;
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+}
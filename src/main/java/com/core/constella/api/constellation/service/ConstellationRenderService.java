@@ -0,0 +1,264 @@
+package com.core.constella.api.constellation.service;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.core.constella.api.constellation.dto.ConstellationPinDto;
+import com.core.constella.global.geo.GeoMath;
+import com.core.constella.global.metrics.LatencyRecorder;
+import com.core.constella.global.metrics.MetricsSource;
+
+/**
+ * 별자리(핀 순서대로 이은 선 + 별)를 SVG/PNG로 그려서 디스크에 캐시
+ * 파일명은 그린 내용(핀 코드/좌표 순서 + 렌더링 버전)의 SHA-256이라 같은 별자리는 한 번만 그리고,
+ * 내용이 바뀌면 이름도 바뀌므로 클라이언트/CDN이 영구 캐시할 수 있음
+ */
+@Service
+public class ConstellationRenderService implements MetricsSource {
+    public static final String FORMAT_SVG = "svg";
+    public static final String FORMAT_PNG = "png";
+
+    // 그리는 방식이 바뀌면 올려서 이전 캐시 파일과 지문이 겹치지 않게 함
+    private static final String RENDER_VERSION = "v1";
+    private static final Pattern FINGERPRINT = Pattern.compile("^[0-9a-f]{64}$");
+
+    // 링크 미리보기(Open Graph) 권장 비율
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 630;
+    private static final int PADDING = 80;
+    private static final double STAR_RADIUS = 7;
+
+    private static final Color BACKGROUND = new Color(0x0B1026);
+    private static final Color LINE = new Color(0x8FA8FF);
+    private static final Color STAR = new Color(0xFFF6D5);
+
+    private static final Logger log = LoggerFactory.getLogger(ConstellationRenderService.class);
+
+    private final Path renderPath;
+
+    private final LatencyRecorder renderLatency = new LatencyRecorder();
+    private final LongAdder cacheHits = new LongAdder();
+
+    public ConstellationRenderService(@Value("${app.constellation.render-dir:./uploads/constellations}") String renderDir) {
+        this.renderPath = Paths.get(renderDir);
+    }
+
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_SVG.equals(format) || FORMAT_PNG.equals(format);
+    }
+
+    // 핀 순서와 좌표로 지문 계산 (포맷과 무관, 같은 지문의 svg/png는 같은 그림)
+    public String fingerprint(List<ConstellationPinDto> pins) {
+        StringBuilder content = new StringBuilder(RENDER_VERSION).append(';');
+        for (ConstellationPinDto pin : pins) {
+            content.append(pin.getLocationCode()).append(':')
+                    .append(pin.getLat()).append(',').append(pin.getLng()).append(';');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // 캐시에 없으면 그려서 저장하고 지문 반환
+    public String render(List<ConstellationPinDto> pins, String format) throws IOException {
+        if (!isSupportedFormat(format)) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+        String fingerprint = fingerprint(pins);
+        Path target = renderPath.resolve(fingerprint + "." + format);
+        if (Files.exists(target)) {
+            cacheHits.increment();
+            return fingerprint;
+        }
+
+        long start = System.nanoTime();
+        Files.createDirectories(renderPath);
+        // 임시 파일에 다 쓴 뒤 이동해서, 동시에 요청한 쪽이 덜 쓴 파일을 읽지 않도록 함
+        Path temp = Files.createTempFile(renderPath, fingerprint, ".tmp");
+        try {
+            double[][] points = project(pins);
+            if (FORMAT_SVG.equals(format)) {
+                writeSvg(points, temp);
+            } else {
+                writePng(points, temp);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        renderLatency.recordSince(start);
+        log.info("Rendered constellation {} ({} pins, {})", fingerprint, pins.size(), format);
+        return fingerprint;
+    }
+
+    // 렌더링된 파일 경로, 없거나 이름이 올바르지 않으면 null
+    public Path find(String fingerprint, String format) {
+        if (fingerprint == null || !FINGERPRINT.matcher(fingerprint).matches() || !isSupportedFormat(format)) {
+            return null;
+        }
+        Path path = renderPath.resolve(fingerprint + "." + format);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    /**
+     * 핀들의 평균 방향을 중심으로 한 등장방형 투영 후 화면 크기에 맞춤 (가로세로 비율 유지)
+     * 경도 차이를 중심 기준 -180~180으로 감싸서 날짜변경선을 걸친 별자리도 끊기지 않음
+     */
+    private double[][] project(List<ConstellationPinDto> pins) {
+        int n = pins.size();
+        double[][] points = new double[n][2];
+        if (n == 0) {
+            return points;
+        }
+        double sx = 0, sy = 0, sz = 0;
+        for (ConstellationPinDto pin : pins) {
+            double[] v = GeoMath.toUnitVector(pin.getLat(), pin.getLng());
+            sx += v[0];
+            sy += v[1];
+            sz += v[2];
+        }
+        double centerLat = Math.toDegrees(Math.atan2(sz, Math.hypot(sx, sy)));
+        double centerLng = Math.toDegrees(Math.atan2(sy, sx));
+        double scaleX = Math.max(Math.cos(Math.toRadians(centerLat)), 0.2);
+
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            ConstellationPinDto pin = pins.get(i);
+            double dLng = pin.getLng() - centerLng;
+            dLng = dLng - 360 * Math.floor((dLng + 180) / 360);
+            points[i][0] = dLng * scaleX;
+            points[i][1] = -pin.getLat();
+            minX = Math.min(minX, points[i][0]);
+            maxX = Math.max(maxX, points[i][0]);
+            minY = Math.min(minY, points[i][1]);
+            maxY = Math.max(maxY, points[i][1]);
+        }
+
+        double spanX = maxX - minX;
+        double spanY = maxY - minY;
+        double scale = Math.min((WIDTH - 2 * PADDING) / Math.max(spanX, 1e-9),
+                (HEIGHT - 2 * PADDING) / Math.max(spanY, 1e-9));
+        if (spanX < 1e-9 && spanY < 1e-9) {
+            scale = 0;
+        }
+        double offsetX = (WIDTH - spanX * scale) / 2;
+        double offsetY = (HEIGHT - spanY * scale) / 2;
+        for (double[] point : points) {
+            point[0] = offsetX + (point[0] - minX) * scale;
+            point[1] = offsetY + (point[1] - minY) * scale;
+        }
+        return points;
+    }
+
+    private void writeSvg(double[][] points, Path target) throws IOException {
+        try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            out.write(String.format(Locale.ROOT,
+                    "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\">",
+                    WIDTH, HEIGHT, WIDTH, HEIGHT));
+            out.write(String.format(Locale.ROOT, "<rect width=\"100%%\" height=\"100%%\" fill=\"%s\"/>", hex(BACKGROUND)));
+            if (points.length > 1) {
+                StringBuilder polyline = new StringBuilder();
+                for (double[] point : points) {
+                    polyline.append(String.format(Locale.ROOT, "%.1f,%.1f ", point[0], point[1]));
+                }
+                out.write(String.format(Locale.ROOT,
+                        "<polyline points=\"%s\" fill=\"none\" stroke=\"%s\" stroke-width=\"2\" stroke-opacity=\"0.8\" stroke-linejoin=\"round\"/>",
+                        polyline.toString().trim(), hex(LINE)));
+            }
+            for (double[] point : points) {
+                out.write(String.format(Locale.ROOT,
+                        "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"%.1f\" fill=\"%s\" fill-opacity=\"0.25\"/>",
+                        point[0], point[1], STAR_RADIUS * 2, hex(STAR)));
+                out.write(String.format(Locale.ROOT,
+                        "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"%.1f\" fill=\"%s\"/>",
+                        point[0], point[1], STAR_RADIUS, hex(STAR)));
+            }
+            out.write("</svg>");
+        }
+    }
+
+    private void writePng(double[][] points, Path target) throws IOException {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+
+            if (points.length > 1) {
+                Path2D.Double line = new Path2D.Double();
+                line.moveTo(points[0][0], points[0][1]);
+                for (int i = 1; i < points.length; i++) {
+                    line.lineTo(points[i][0], points[i][1]);
+                }
+                g.setColor(new Color(LINE.getRed(), LINE.getGreen(), LINE.getBlue(), 204));
+                g.setStroke(new BasicStroke(2f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+                g.draw(line);
+            }
+            for (double[] point : points) {
+                double glow = STAR_RADIUS * 2;
+                g.setColor(new Color(STAR.getRed(), STAR.getGreen(), STAR.getBlue(), 64));
+                g.fill(new Ellipse2D.Double(point[0] - glow, point[1] - glow, glow * 2, glow * 2));
+                g.setColor(STAR);
+                g.fill(new Ellipse2D.Double(point[0] - STAR_RADIUS, point[1] - STAR_RADIUS,
+                        STAR_RADIUS * 2, STAR_RADIUS * 2));
+            }
+        } finally {
+            g.dispose();
+        }
+        try (OutputStream out = Files.newOutputStream(target)) {
+            ImageIO.write(image, FORMAT_PNG, out);
+        }
+    }
+
+    private static String hex(Color color) {
+        return String.format(Locale.ROOT, "#%06x", color.getRGB() & 0xFFFFFF);
+    }
+
+    @Override
+    public String metricsName() {
+        return "constellationRender";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("render", renderLatency.snapshot());
+        snapshot.put("cacheHits", cacheHits.sum());
+        return snapshot;
+    }
+}
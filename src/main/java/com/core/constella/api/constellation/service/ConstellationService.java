@@ -2,7 +2,12 @@ package com.core.constella.api.constellation.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -12,6 +17,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.core.constella.api.constellation.codec.PinOrderCodec;
 import com.core.constella.api.constellation.domain.Constellation;
 import com.core.constella.api.constellation.domain.ConstellationHistory;
 import com.core.constella.api.constellation.dto.ConstellationHistoryResponse;
@@ -21,10 +27,13 @@ import com.core.constella.api.constellation.dto.ConstellationSaveRequest;
 import com.core.constella.api.constellation.repository.ConstellationHistoryRepository;
 import com.core.constella.api.constellation.repository.ConstellationRepository;
 import com.core.constella.api.country.service.CountryService;
-import com.core.constella.api.diary.domain.Diary;
 import com.core.constella.api.diary.repository.DiaryRepository;
 import com.core.constella.api.user.domain.User;
 import com.core.constella.api.user.repository.UserRepository;
+import com.core.constella.global.cache.UserDataCache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 
 import lombok.RequiredArgsConstructor;
 
@@ -35,22 +44,31 @@ public class ConstellationService {
     private final ConstellationRepository constellationRepository;
     private final UserRepository userRepository;
     private final ConstellationHistoryRepository constellationHistoryRepository;
+    private final UserDataCache userDataCache;
+    private final PinOrderingService pinOrderingService;
+    private final ConstellationHistoryStore constellationHistoryStore;
+    private final EntityManager entityManager;
     private static final Logger log = LoggerFactory.getLogger(ConstellationService.class);
 
     /**
      * 특정 userId의 핀(나라) 목록을 위도/경도/이름과 함께 최단경로 순서로 반환
+     * 사용자별 캐시(일기 변경 시 무효화)에 없으면 (코드, 좌표)만 조회해서 만들고,
+     * 순서 계산은 같은 좌표 집합끼리 PinOrderingService의 기억된 결과를 재사용
      */
     public List<ConstellationPinDto> getConstellationPinsForUser(Long userId) {
-        log.info("Getting constellation pins for user: {}", userId);
-        List<Diary> diaries = diaryRepository.findByUser_Id(userId);
-        log.info("Found {} diaries for user {}", diaries.size(), userId);
+        return userDataCache.get("constellationPins", userId,
+                () -> List.copyOf(buildConstellationPins(diaryRepository.findPinCoordinatesByUserId(userId))));
+    }
+
+    private List<ConstellationPinDto> buildConstellationPins(List<Object[]> rows) {
+        log.info("Building constellation pins for {} countries", rows.size());
         List<ConstellationPinDto> pins = new ArrayList<>();
         
-        for (Diary d : diaries) {
-            String code = d.getLocationCode();
+        for (Object[] row : rows) {
+            String code = (String) row[0];
             String nameKo = CountryService.getCountryNameKoByCode().getOrDefault(code, code);
-            Double lat = d.getLatitude();
-            Double lng = d.getLongitude();
+            Double lat = (Double) row[1];
+            Double lng = (Double) row[2];
             
             // 위도/경도가 null이거나 0인 경우 countries.json에서 가져오기
             if (lat == null || lng == null || lat == 0.0 || lng == 0.0) {
@@ -58,14 +76,14 @@ public class ConstellationService {
                 if (info != null) {
                     lat = info.lat;
                     lng = info.lng;
-                    log.info("Using coordinates from CountryService for {}: lat={}, lng={}", code, lat, lng);
+                    log.debug("Using coordinates from CountryService for {}: lat={}, lng={}", code, lat, lng);
                 } else {
                     log.warn("No coordinates found for location code: {}", code);
                     continue;
                 }
             }
             
-            log.info("Processing diary: code={}, nameKo={}, lat={}, lng={}", code, nameKo, lat, lng);
+            log.debug("Processing pin: code={}, nameKo={}, lat={}, lng={}", code, nameKo, lat, lng);
             pins.add(ConstellationPinDto.builder()
                     .locationCode(code)
                     .nameKo(nameKo)
@@ -74,34 +92,12 @@ public class ConstellationService {
                     .build());
         }
         
-        // Nearest Neighbor로 한 줄로 정렬
-        List<ConstellationPinDto> sortedPins = sortPinsByNearestNeighbor(pins);
+        // 구면 거리 기준으로 한 줄로 정렬
+        List<ConstellationPinDto> sortedPins = pinOrderingService.order(pins);
         log.info("Returning {} sorted pins", sortedPins.size());
         return sortedPins;
     }
 
-    // Nearest Neighbor 정렬 (핀 개수 적을 때 충분)
-    private List<ConstellationPinDto> sortPinsByNearestNeighbor(List<ConstellationPinDto> pins) {
-        if (pins.size() <= 2) return pins;
-        List<ConstellationPinDto> result = new ArrayList<>();
-        List<ConstellationPinDto> remain = new ArrayList<>(pins);
-        result.add(remain.remove(0));
-        while (!remain.isEmpty()) {
-            ConstellationPinDto curr = result.get(result.size() - 1);
-            ConstellationPinDto next = remain.stream()
-                .min((a, b) -> Double.compare(distance(curr, a), distance(curr, b)))
-                .orElse(remain.get(0));
-            result.add(next);
-            remain.remove(next);
-        }
-        return result;
-    }
-    private double distance(ConstellationPinDto a, ConstellationPinDto b) {
-        double dx = a.getLat() - b.getLat();
-        double dy = a.getLng() - b.getLng();
-        return dx * dx + dy * dy;
-    }
-
     // 별자리 저장 시 히스토리도 함께 저장
     @Transactional
     public void saveConstellationHistory(Constellation constellation) {
@@ -136,6 +132,7 @@ public class ConstellationService {
             log.info("Attempting to save ConstellationHistory for user: {} and constellation: {}", 
                 constellation.getUser().getId(), constellation.getId());
             
+            constellationHistoryStore.encode(history);
             history = constellationHistoryRepository.save(history);
             
             log.info("Successfully saved constellation history: id={}, createdAt={}", 
@@ -147,60 +144,100 @@ public class ConstellationService {
         }
     }
 
-    // 별자리 히스토리 조회 (페이지네이션)
+    // 별자리 히스토리 조회 (페이지네이션), 페이지 조회 + keyframe부터 변경분 복원 + 좌표 IN 조회로 페이지 크기와 상관없이 쿼리 수 고정
+    @Transactional(readOnly = true)
     public Page<ConstellationHistoryResponse> getConstellationHistory(Long userId, Pageable pageable) {
         log.info("Getting paginated constellation history for user {}: page={}, size={}", 
             userId, pageable.getPageNumber(), pageable.getPageSize());
         Page<ConstellationHistory> histories = constellationHistoryRepository.findByUser_IdOrderByCreatedAtDesc(userId, pageable);
         log.info("Found {} history records for user {}", histories.getTotalElements(), userId);
-        return histories.map(this::convertToHistoryResponse);
+        constellationHistoryStore.decode(userId, histories.getContent());
+        Map<String, double[]> diaryCoordinates = findDiaryCoordinatesForHistories(userId, histories.getContent());
+        return histories.map(history -> convertToHistoryResponse(history, diaryCoordinates));
     }
 
     // 별자리 히스토리 조회 (전체)
+    @Transactional(readOnly = true)
     public List<ConstellationHistoryResponse> getAllConstellationHistory(Long userId) {
         log.info("Getting all constellation history for user {}", userId);
         List<ConstellationHistory> histories = constellationHistoryRepository.findByUser_IdOrderByCreatedAtDesc(userId);
         log.info("Found {} total history records for user {}", histories.size(), userId);
+        constellationHistoryStore.decode(userId, histories);
+        Map<String, double[]> diaryCoordinates = findDiaryCoordinatesForHistories(userId, histories);
         return histories.stream()
-                .map(this::convertToHistoryResponse)
+                .map(history -> convertToHistoryResponse(history, diaryCoordinates))
                 .collect(Collectors.toList());
     }
 
-    private ConstellationHistoryResponse convertToHistoryResponse(ConstellationHistory history) {
-        log.debug("Converting history to response: id={}, userId={}", history.getId(), history.getUser().getId());
+    // 히스토리 하나의 핀 목록 (다른 사용자의 히스토리면 예외)
+    @Transactional(readOnly = true)
+    public List<ConstellationPinDto> getConstellationHistoryPins(Long userId, Long historyId) {
+        ConstellationHistory history = constellationHistoryRepository.findById(historyId)
+                .filter(h -> h.getUser() != null && userId.equals(h.getUser().getId()))
+                .orElseThrow(() -> new IllegalArgumentException("Constellation history not found: " + historyId));
+        List<ConstellationHistory> histories = List.of(history);
+        constellationHistoryStore.decode(userId, histories);
+        return convertToHistoryResponse(history, findDiaryCoordinatesForHistories(userId, histories)).getPins();
+    }
+
+    // 여러 히스토리에 등장하는 나라를 모아서 다이어리 좌표를 한 번에 조회
+    private Map<String, double[]> findDiaryCoordinatesForHistories(Long userId, List<ConstellationHistory> histories) {
+        Set<String> codes = new HashSet<>();
+        for (ConstellationHistory history : histories) {
+            for (String pin : history.getPinOrder()) {
+                String code = toLocationCode(pin);
+                if (code != null) {
+                    codes.add(code);
+                }
+            }
+        }
+        return findDiaryCoordinates(userId, codes);
+    }
+
+    // pinOrder 항목은 나라 코드(현재 저장 방식) 또는 한글 나라 이름(이전 저장 방식)일 수 있음
+    private String toLocationCode(String pin) {
+        if (pin == null) {
+            return null;
+        }
+        CountryService.CountryInfo info = CountryService.COUNTRY_INFO_MAP.get(pin);
+        if (info != null) {
+            return info.code;
+        }
+        return CountryService.getCountryNameKoByCode().containsKey(pin) ? pin : null;
+    }
+
+    private ConstellationHistoryResponse convertToHistoryResponse(ConstellationHistory history,
+                                                                  Map<String, double[]> diaryCoordinates) {
         List<ConstellationPinDto> pins = new ArrayList<>();
-        
-        for (String countryName : history.getPinOrder()) {
-            CountryService.CountryInfo info = CountryService.COUNTRY_INFO_MAP.get(countryName);
-            if (info == null) {
-                log.warn("No country info found for: {}", countryName);
+
+        for (String pin : history.getPinOrder()) {
+            String code = toLocationCode(pin);
+            if (code == null) {
+                log.warn("No country info found for: {}", pin);
                 continue;
             }
-            
-            String code = info.code;
-            Double lat = info.lat;
-            Double lng = info.lng;
-            
-            // Try to get coordinates from diary first
-            Diary diary = diaryRepository.findByUser_IdAndLocationCode(history.getUser().getId(), code).orElse(null);
-            if (diary != null && diary.getLatitude() != null && diary.getLongitude() != null
-                && diary.getLatitude() != 0.0 && diary.getLongitude() != 0.0) {
-                lat = diary.getLatitude();
-                lng = diary.getLongitude();
-                log.debug("Using coordinates from diary for {}: lat={}, lng={}", code, lat, lng);
-            } else {
-                log.debug("Using coordinates from CountryService for {}: lat={}, lng={}", code, lat, lng);
+            String nameKo = CountryService.getCountryNameKoByCode().getOrDefault(code, pin);
+            CountryService.CountryInfo info = CountryService.COUNTRY_INFO_MAP.get(nameKo);
+
+            // 다이어리 좌표 우선, 없으면 countries.json 좌표
+            double[] coordinates = diaryCoordinates.get(code);
+            if (coordinates == null) {
+                if (info == null) {
+                    log.warn("No coordinates found for code: {}", code);
+                    continue;
+                }
+                coordinates = new double[] {info.lat, info.lng};
             }
-            
+
             pins.add(ConstellationPinDto.builder()
                     .locationCode(code)
-                    .nameKo(countryName)
-                    .lat(lat)
-                    .lng(lng)
+                    .nameKo(nameKo)
+                    .lat(coordinates[0])
+                    .lng(coordinates[1])
                     .build());
         }
-        
-        ConstellationHistoryResponse response = ConstellationHistoryResponse.builder()
+
+        return ConstellationHistoryResponse.builder()
                 .id(history.getId())
                 .userId(history.getUser().getId())
                 .constellationId(history.getConstellation().getId())
@@ -208,105 +245,78 @@ public class ConstellationService {
                 .createdAt(history.getCreatedAt())
                 .pins(pins)
                 .build();
-        log.debug("Converted history to response: id={}, pins={}", response.getId(), response.getPins().size());
-        return response;
     }
 
-    // 저장된 별자리(커스텀 순서) 핀 정보를 좌표, 한글이름, 코드와 함께 반환
+    // 저장된 별자리(커스텀 순서) 핀 정보를 좌표, 한글이름, 코드와 함께 반환 (좌표는 IN 조회 한 번)
     public List<ConstellationPinDto> getSavedConstellationPinsForUser(Long userId) {
         log.info("Getting saved constellation pins for user: {}", userId);
         Constellation constellation = constellationRepository.findByUser_Id(userId)
             .orElseThrow(() -> new IllegalArgumentException("Constellation not found for userId: " + userId));
         List<String> pinOrder = constellation.getPinOrder();
-        log.info("Found pin order: {}", pinOrder);
-        
-        List<ConstellationPinDto> pins = new ArrayList<>();
-        
+        log.debug("Found pin order: {}", pinOrder);
+
+        List<String> codes = new ArrayList<>();
         for (String code : pinOrder) {
             if (code == null || code.trim().isEmpty()) {
                 log.warn("Skipping null or empty code");
                 continue;
             }
-            
-            log.info("Processing pin with code: {}", code);
-            
-            // Get country name in Korean
+            codes.add(code.trim());
+        }
+        Map<String, double[]> diaryCoordinates = findDiaryCoordinates(userId, codes);
+
+        List<ConstellationPinDto> pins = new ArrayList<>();
+        for (String code : codes) {
             String nameKo = CountryService.getCountryNameKoByCode().getOrDefault(code, code);
             if (nameKo == null || nameKo.trim().isEmpty()) {
                 log.warn("No Korean name found for code: {}", code);
                 continue;
             }
-            log.info("Found name in Korean: {} for code: {}", nameKo, code);
-            
-            // Get coordinates from diary first
-            Diary diary = diaryRepository.findByUser_IdAndLocationCode(userId, code).orElse(null);
-            Double lat = null;
-            Double lng = null;
-            
-            if (diary != null && diary.getLatitude() != null && diary.getLongitude() != null
-                && diary.getLatitude() != 0.0 && diary.getLongitude() != 0.0) {
-                lat = diary.getLatitude();
-                lng = diary.getLongitude();
-                log.info("Using coordinates from diary: lat={}, lng={}", lat, lng);
-            } else {
-                // If no diary coordinates, try to get from CountryService
+
+            // 다이어리 좌표 우선, 없으면 countries.json 좌표
+            double[] coordinates = diaryCoordinates.get(code);
+            if (coordinates == null) {
                 CountryService.CountryInfo info = CountryService.COUNTRY_INFO_MAP.get(nameKo);
-                if (info != null) {
-                    lat = info.lat;
-                    lng = info.lng;
-                    log.info("Using coordinates from CountryService: lat={}, lng={}", lat, lng);
-                } else {
+                if (info == null) {
                     log.warn("No coordinates found for code: {}", code);
                     continue;
                 }
+                coordinates = new double[] {info.lat, info.lng};
             }
-            
-            // Validate coordinates
-            if (lat == null || lng == null || 
-                Double.isNaN(lat) || Double.isNaN(lng) ||
-                Double.isInfinite(lat) || Double.isInfinite(lng)) {
+            if (Double.isNaN(coordinates[0]) || Double.isNaN(coordinates[1])
+                || Double.isInfinite(coordinates[0]) || Double.isInfinite(coordinates[1])) {
                 log.warn("Invalid coordinates for code: {}", code);
                 continue;
             }
-            
-            try {
-                // Ensure all fields are properly formatted
-                String trimmedCode = code.trim();
-                String trimmedNameKo = nameKo.trim();
-                
-                // Validate string fields
-                if (trimmedCode.isEmpty() || trimmedNameKo.isEmpty()) {
-                    log.warn("Empty string fields for code: {}", code);
-                    continue;
-                }
-                
-                // Create pin with validated data
-                ConstellationPinDto pin = ConstellationPinDto.builder()
-                    .locationCode(trimmedCode)
-                    .nameKo(trimmedNameKo)
-                    .lat(lat)
-                    .lng(lng)
-                    .build();
-                
-                // Validate the created pin
-                if (pin.getLocationCode() == null || pin.getNameKo() == null ||
-                    pin.getLat() == null || pin.getLng() == null) {
-                    log.warn("Created pin has null fields: {}", pin);
-                    continue;
-                }
-                
-                log.info("Created valid pin: {}", pin);
-                pins.add(pin);
-            } catch (Exception e) {
-                log.error("Error creating pin for code {}: {}", code, e.getMessage());
-                continue;
-            }
+
+            pins.add(ConstellationPinDto.builder()
+                .locationCode(code)
+                .nameKo(nameKo.trim())
+                .lat(coordinates[0])
+                .lng(coordinates[1])
+                .build());
         }
-        
+
         log.info("Returning {} valid pins", pins.size());
         return pins;
     }
 
+    // 사용자의 다이어리에 저장된 좌표를 나라 코드별로 반환 (null/0 좌표는 제외해서 호출하는 쪽이 기본 좌표를 쓰도록 함)
+    private Map<String, double[]> findDiaryCoordinates(Long userId, Collection<String> codes) {
+        Map<String, double[]> coordinates = new HashMap<>();
+        if (codes.isEmpty()) {
+            return coordinates;
+        }
+        for (Object[] row : diaryRepository.findCoordinatesByUserIdAndLocationCodes(userId, new HashSet<>(codes))) {
+            Double lat = (Double) row[1];
+            Double lng = (Double) row[2];
+            if (lat != null && lng != null && lat != 0.0 && lng != 0.0) {
+                coordinates.putIfAbsent((String) row[0], new double[] {lat, lng});
+            }
+        }
+        return coordinates;
+    }
+
     // 별자리 저장
     @Transactional
     public ConstellationResponse saveConstellation(ConstellationSaveRequest req) {
@@ -321,23 +331,31 @@ public class ConstellationService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + req.getUserId()));
         log.debug("Found user: id={}, username={}", user.getId(), user.getUsername());
         
-        // Get all diaries for the user
-        List<Diary> diaries = diaryRepository.findByUser_Id(req.getUserId());
-        if (diaries.isEmpty()) {
+        // 일기가 있는 나라 코드만 조회 (Diary/entries 엔티티 로딩 없이)
+        List<String> pinOrder = diaryRepository.findDistinctLocationCodesByUserId(req.getUserId());
+        if (pinOrder.isEmpty()) {
             throw new IllegalArgumentException("No diaries found for user: " + req.getUserId());
         }
-        
-        // Extract location codes from diaries
-        List<String> pinOrder = diaries.stream()
-            .map(Diary::getLocationCode)
-            .distinct()
-            .collect(Collectors.toList());
             
         log.info("Extracted pin order from diaries: {}", pinOrder);
+        String fingerprint = PinOrderCodec.fingerprint(pinOrder);
         
         // Try to find existing constellation for the user
         Constellation constellation = constellationRepository.findByUser_Id(req.getUserId())
                 .orElse(null);
+
+        // 핀 순서가 그대로면 잠금 없이 기존 값 반환 (같은 내용의 반복 저장이 흔하므로 읽기만 함)
+        if (constellation != null && fingerprint.equals(currentFingerprint(constellation))) {
+            return unchangedResponse(constellation, user);
+        }
+        // 바뀐 경우에만 행을 잠그고 다시 읽어서 확인 (동시에 들어온 저장이 같은 직전 히스토리에 변경분을 쌓지 않게 함)
+        // 첫 저장끼리 겹치면 잠글 행이 없지만, 직전 히스토리가 없으면 둘 다 keyframe으로 저장되므로 체인이 깨지지 않음
+        if (constellation != null) {
+            entityManager.refresh(constellation, LockModeType.PESSIMISTIC_WRITE);
+            if (fingerprint.equals(currentFingerprint(constellation))) {
+                return unchangedResponse(constellation, user);
+            }
+        }
                 
         if (constellation == null) {
             log.info("Creating new constellation for user {}", req.getUserId());
@@ -345,12 +363,14 @@ public class ConstellationService {
             constellation = Constellation.builder()
                     .user(user)
                     .pinOrder(pinOrder)
+                    .pinOrderFingerprint(fingerprint)
                     .name("My Constellation")  // 기본 이름 설정
                     .build();
         } else {
             log.info("Updating existing constellation for user {}: id={}", req.getUserId(), constellation.getId());
             // Update existing constellation
             constellation.setPinOrder(pinOrder);
+            constellation.setPinOrderFingerprint(fingerprint);
             constellation.setName("My Constellation");  // 기본 이름 설정
         }
         
@@ -358,6 +378,7 @@ public class ConstellationService {
             // Save constellation first
             constellation = constellationRepository.save(constellation);
             log.info("Successfully saved constellation: id={}", constellation.getId());
+            userDataCache.invalidate(user.getId());
             
             // Save constellation history
             try {
@@ -388,6 +409,24 @@ public class ConstellationService {
         }
     }
 
+    private ConstellationResponse unchangedResponse(Constellation constellation, User user) {
+        log.info("Constellation unchanged for user {}: id={}", user.getId(), constellation.getId());
+        return ConstellationResponse.builder()
+                .id(constellation.getId())
+                .userId(user.getId())
+                .pinOrder(constellation.getPinOrder())
+                .name(constellation.getName())
+                .build();
+    }
+
+    // 지문 컬럼이 추가되기 전에 저장된 별자리는 pinOrder로 계산
+    private String currentFingerprint(Constellation constellation) {
+        if (constellation.getPinOrderFingerprint() != null) {
+            return constellation.getPinOrderFingerprint();
+        }
+        return constellation.getPinOrder() != null ? PinOrderCodec.fingerprint(constellation.getPinOrder()) : null;
+    }
+
     // 별자리 조회 (userId별)
     public ConstellationResponse getConstellationByUserId(Long userId) {
         Constellation constellation = constellationRepository.findByUser_Id(userId)
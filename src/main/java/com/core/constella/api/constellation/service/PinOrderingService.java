@@ -0,0 +1,148 @@
+package com.core.constella.api.constellation.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.core.constella.api.constellation.dto.ConstellationPinDto;
+import com.core.constella.global.geo.GeoMath;
+import com.core.constella.global.geo.HeldKarp;
+import com.core.constella.global.geo.PathOptimizer;
+import com.core.constella.global.metrics.LatencyRecorder;
+import com.core.constella.global.metrics.MetricsSource;
+
+/**
+ * 별자리 핀을 한 줄로 잇는 순서 계산
+ * 핀이 exact-threshold개 이하면 Held-Karp로 최단 경로, 그보다 많으면 최근접 이웃 + 시간 예산 내 2-opt/Or-opt
+ * 두 경우 모두 시작/끝 핀은 고정하지 않음 (휴리스틱의 첫 핀은 초기 경로를 만드는 출발점으로만 사용)
+ * 같은 나라 집합(코드+좌표)은 사용자와 상관없이 결과가 같으므로 LRU로 기억해 두고 재사용
+ */
+@Service
+public class PinOrderingService implements MetricsSource {
+    private final long timeBudgetNanos;
+    private final int exactThreshold;
+    private final int memoSize;
+
+    // 코드 순으로 정렬한 핀 목록의 키 -> 그 목록 기준 방문 순서
+    private final LinkedHashMap<String, int[]> memo;
+
+    private final LatencyRecorder exactLatency = new LatencyRecorder();
+    private final LatencyRecorder heuristicLatency = new LatencyRecorder();
+    private final LongAdder memoHits = new LongAdder();
+    private final LongAdder memoMisses = new LongAdder();
+
+    public PinOrderingService(@Value("${app.constellation.ordering-budget:20ms}") Duration timeBudget,
+                              @Value("${app.constellation.exact-threshold:15}") int exactThreshold,
+                              @Value("${app.constellation.ordering-memo-size:1000}") int memoSize) {
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.exactThreshold = Math.min(exactThreshold, HeldKarp.MAX_POINTS);
+        this.memoSize = memoSize;
+        this.memo = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return size() > PinOrderingService.this.memoSize;
+            }
+        };
+    }
+
+    // 정렬한 새 목록 반환 (좌표 없는 핀은 호출 전에 걸러야 함)
+    public List<ConstellationPinDto> order(List<ConstellationPinDto> pins) {
+        if (pins.size() <= 2) {
+            return pins;
+        }
+        // 입력 순서와 무관하게 같은 결과가 나오도록 코드 순으로 정렬한 목록 기준으로 계산
+        List<ConstellationPinDto> canonical = new ArrayList<>(pins);
+        canonical.sort(Comparator.comparing(ConstellationPinDto::getLocationCode)
+                .thenComparing(ConstellationPinDto::getLat)
+                .thenComparing(ConstellationPinDto::getLng));
+        String key = memoKey(canonical);
+
+        int[] path = key != null ? lookup(key) : null;
+        if (path == null) {
+            path = computePath(canonical);
+            if (key != null) {
+                synchronized (memo) {
+                    memo.put(key, path);
+                }
+            }
+        }
+        List<ConstellationPinDto> result = new ArrayList<>(path.length);
+        for (int index : path) {
+            result.add(canonical.get(index));
+        }
+        return result;
+    }
+
+    private int[] computePath(List<ConstellationPinDto> pins) {
+        long start = System.nanoTime();
+        int n = pins.size();
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = pins.get(i).getLat();
+            lngs[i] = pins.get(i).getLng();
+        }
+        if (n <= exactThreshold) {
+            int[] path = HeldKarp.shortestOpenPath(GeoMath.centralAngleMatrix(lats, lngs), n);
+            exactLatency.recordSince(start);
+            return path;
+        }
+        int[] path = PathOptimizer.order(lats, lngs, 0, timeBudgetNanos);
+        heuristicLatency.recordSince(start);
+        return path;
+    }
+
+    private int[] lookup(String key) {
+        int[] path;
+        synchronized (memo) {
+            path = memo.get(key);
+        }
+        if (path != null) {
+            memoHits.increment();
+        } else {
+            memoMisses.increment();
+        }
+        return path;
+    }
+
+    // 코드가 중복되면 코드만으로 핀을 구분할 수 없으므로 기억하지 않음 (null)
+    private String memoKey(List<ConstellationPinDto> canonical) {
+        Set<String> codes = new HashSet<>();
+        StringBuilder key = new StringBuilder(canonical.size() * 24);
+        for (ConstellationPinDto pin : canonical) {
+            if (!codes.add(pin.getLocationCode())) {
+                return null;
+            }
+            key.append(pin.getLocationCode()).append(':')
+                    .append(pin.getLat()).append(',').append(pin.getLng()).append(';');
+        }
+        return key.toString();
+    }
+
+    @Override
+    public String metricsName() {
+        return "pinOrdering";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("exact", exactLatency.snapshot());
+        snapshot.put("heuristic", heuristicLatency.snapshot());
+        snapshot.put("memoHits", memoHits.sum());
+        snapshot.put("memoMisses", memoMisses.sum());
+        synchronized (memo) {
+            snapshot.put("memoSize", memo.size());
+        }
+        return snapshot;
+    }
+}
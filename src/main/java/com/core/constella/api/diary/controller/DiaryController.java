@@ -1,6 +1,7 @@
 package com.core.constella.api.diary.controller;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
@@ -11,11 +12,15 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.core.constella.api.diary.domain.Diary;
 import com.core.constella.api.diary.dto.DiaryCreateRequest;
+import com.core.constella.api.diary.dto.DiaryCursorPage;
 import com.core.constella.api.diary.dto.DiaryMergedResponse;
+import com.core.constella.api.diary.service.DiaryGeoSearchService;
 import com.core.constella.api.diary.service.DiaryService;
 
 import lombok.RequiredArgsConstructor;
@@ -25,6 +30,9 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class DiaryController {
     private final DiaryService diaryService;
+    private final DiaryGeoSearchService diaryGeoSearchService;
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<String> createDiary(@ModelAttribute DiaryCreateRequest request) {
@@ -53,17 +61,30 @@ public class DiaryController {
 //        return null;
 //    }
 
+    // 기존 목록 엔드포인트(/merge/{locationCode}, /all, /user/{userId}/merged)는 응답 형태(카드 배열)는 그대로 두고
+    // 최대 MAX_PAGE_SIZE개까지만 반환, 다음 페이지가 있으면 X-Next-Cursor 헤더 값을 cursor로 넘겨서 이어서 조회
+
     //다이어리 리스트 받아오는 메서드 추가
     @GetMapping("/merge/{locationCode}")
-    public ResponseEntity<List<DiaryMergedResponse>> getDiariesByCountry(@PathVariable String locationCode) {
-        List<DiaryMergedResponse> diaries = diaryService.getMergedEntries(locationCode);
-        return ResponseEntity.ok(diaries);
+    public ResponseEntity<?> getDiariesByCountry(
+            @PathVariable String locationCode,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + DiaryService.MAX_PAGE_SIZE) int size) {
+        if (size <= 0 || size > DiaryService.MAX_PAGE_SIZE) {
+            return invalidPageSize();
+        }
+        return legacyPage(diaryService.getMergedEntriesPageByLocationCode(locationCode, cursor, size));
     }
 
     // 모든 locationCode의 모든 카드(일기) 리스트를 반환하는 엔드포인트 추가
     @GetMapping("/all")
-    public ResponseEntity<List<DiaryMergedResponse>> getAllDiaries() {
-        return ResponseEntity.ok(diaryService.getAllMergedEntries());
+    public ResponseEntity<?> getAllDiaries(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + DiaryService.MAX_PAGE_SIZE) int size) {
+        if (size <= 0 || size > DiaryService.MAX_PAGE_SIZE) {
+            return invalidPageSize();
+        }
+        return legacyPage(diaryService.getAllMergedEntriesPage(cursor, size));
     }
 
     @GetMapping("/user/{userId}")
@@ -73,8 +94,23 @@ public class DiaryController {
 
     // userId별 병합된 카드 리스트 반환 (마이페이지용)
     @GetMapping("/user/{userId}/merged")
-    public ResponseEntity<List<DiaryMergedResponse>> getMergedDiariesByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(diaryService.getAllMergedEntriesByUserId(userId));
+    public ResponseEntity<?> getMergedDiariesByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + DiaryService.MAX_PAGE_SIZE) int size) {
+        if (size <= 0 || size > DiaryService.MAX_PAGE_SIZE) {
+            return invalidPageSize();
+        }
+        return legacyPage(diaryService.getMergedEntriesPageByUserId(userId, cursor, size));
+    }
+
+    // userId별 병합된 카드 전체를 NDJSON 스트림으로 내보내기 (카드가 많은 사용자용)
+    @GetMapping(value = "/user/{userId}/merged/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMergedDiariesByUser(@PathVariable Long userId) {
+        StreamingResponseBody body = outputStream -> diaryService.exportMergedEntriesByUserId(userId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     // userId와 locationCode로 병합된 카드 리스트 반환 (핀 클릭용)
@@ -86,4 +122,86 @@ public class DiaryController {
         return ResponseEntity.ok(diaries);
     }
 
+    // --- 커서 기반 페이지 조회 (응답의 nextCursor를 다음 요청의 cursor로 전달) ---
+    @GetMapping("/feed")
+    public ResponseEntity<?> getAllDiariesPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size <= 0 || size > DiaryService.MAX_PAGE_SIZE) {
+            return invalidPageSize();
+        }
+        DiaryCursorPage page = diaryService.getAllMergedEntriesPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/feed/user/{userId}")
+    public ResponseEntity<?> getMergedDiariesPageByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size <= 0 || size > DiaryService.MAX_PAGE_SIZE) {
+            return invalidPageSize();
+        }
+        DiaryCursorPage page = diaryService.getMergedEntriesPageByUserId(userId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/feed/location/{locationCode}")
+    public ResponseEntity<?> getDiariesPageByCountry(
+            @PathVariable String locationCode,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size <= 0 || size > DiaryService.MAX_PAGE_SIZE) {
+            return invalidPageSize();
+        }
+        DiaryCursorPage page = diaryService.getMergedEntriesPageByLocationCode(locationCode, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    // --- 위치 검색: 중심점 반경(km) 안의 내 다이어리 (가까운 순) ---
+    @GetMapping("/user/{userId}/nearby")
+    public ResponseEntity<?> getNearbyDiaries(
+            @PathVariable Long userId,
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "100") double radiusKm,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(diaryGeoSearchService.findNearby(userId, lat, lng, radiusKm, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        }
+    }
+
+    // 지도 화면 영역 안의 내 다이어리 (minLng > maxLng면 날짜변경선을 넘는 영역)
+    @GetMapping("/user/{userId}/within")
+    public ResponseEntity<?> getDiariesWithin(
+            @PathVariable Long userId,
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam(defaultValue = "200") int limit) {
+        try {
+            return ResponseEntity.ok(diaryGeoSearchService.findWithin(userId, minLat, minLng, maxLat, maxLng, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<List<DiaryMergedResponse>> legacyPage(DiaryCursorPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.isHasNext()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getItems());
+    }
+
+    private ResponseEntity<?> invalidPageSize() {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap("message", "페이지 크기는 1에서 " + DiaryService.MAX_PAGE_SIZE + " 사이여야 합니다."));
+    }
+
 }
@@ -1,18 +1,24 @@
 package com.core.constella.api.diary.controller;
 
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.core.constella.api.diary.service.DiaryService;
+import com.core.constella.api.diary.service.DiaryStatsService;
+import com.core.constella.api.diary.service.GlobalStatsService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,7 +27,10 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class StatsController {
     private final DiaryService diaryService;
+    private final GlobalStatsService globalStatsService;
+    private final DiaryStatsService diaryStatsService;
     private static final Logger log = LoggerFactory.getLogger(StatsController.class);
+    private static final int MAX_GLOBAL_LIMIT = 300;
 
     @GetMapping("/summary/{userId}")
     public Map<String, Object> getSummaryByUser(@PathVariable Long userId) {
@@ -47,4 +56,28 @@ public class StatsController {
         }
         return result;
     }
-} 
\ No newline at end of file
+
+    // 기간별 일기 개수 (granularity=month|year, from/to는 yyyy-MM, 생략하면 전체 기간)
+    @GetMapping("/timeline/{userId}")
+    public ResponseEntity<?> getTimelineByUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = DiaryStatsService.GRANULARITY_MONTH) String granularity,
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to) {
+        try {
+            return ResponseEntity.ok(diaryStatsService.getTimeline(userId, granularity, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", e.getMessage()));
+        }
+    }
+
+    // 전역 통계 (주기적으로 갱신되는 스냅샷에서 상위 limit개 나라 반환, DB 조회 없음)
+    @GetMapping("/global")
+    public ResponseEntity<?> getGlobalStats(@RequestParam(defaultValue = "10") int limit) {
+        if (limit <= 0 || limit > MAX_GLOBAL_LIMIT) {
+            return ResponseEntity.badRequest()
+                    .body(Collections.singletonMap("message", "limit은 1~" + MAX_GLOBAL_LIMIT + " 사이여야 합니다."));
+        }
+        return ResponseEntity.ok(globalStatsService.getGlobalStats(limit));
+    }
+}
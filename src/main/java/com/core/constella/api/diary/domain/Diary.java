@@ -3,6 +3,8 @@ package com.core.constella.api.diary.domain;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.core.constella.global.geo.GeoHash;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,9 +12,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,8 +32,14 @@ import lombok.Setter;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // 사용자별 반경/영역 검색: geohash 범위로 먼저 좁힘
+        @Index(name = "idx_diary_user_geohash", columnList = "user_id, geohash")
+})
 //핀별 단위의 일기 그룹
 public class Diary {
+    public static final int GEOHASH_PRECISION = 9;
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "diary_id")
     private Long id;
@@ -43,6 +55,10 @@ public class Diary {
     @Column(nullable = true)
     private Double longitude;
 
+    // 위도/경도의 geohash (GEOHASH_PRECISION자, 약 5m 셀), 저장할 때마다 다시 계산
+    @Column(length = 12)
+    private String geohash;
+
     @OneToMany(mappedBy = "diary", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<DiaryEntry> entries = new ArrayList<>();
@@ -50,4 +66,15 @@ public class Diary {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private com.core.constella.api.user.domain.User user;
+
+    // 좌표가 없거나 (0, 0)이면 null
+    @PrePersist
+    @PreUpdate
+    public void refreshGeohash() {
+        if (latitude == null || longitude == null || (latitude == 0.0 && longitude == 0.0)) {
+            geohash = null;
+        } else {
+            geohash = GeoHash.encode(latitude, longitude, GEOHASH_PRECISION);
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package com.core.constella.api.diary.domain;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "diary_card", indexes = {
+        @Index(name = "idx_diary_card_user_entry", columnList = "user_id, entry_id"),
+        @Index(name = "idx_diary_card_user_location_entry", columnList = "user_id, location_code, entry_id"),
+        @Index(name = "idx_diary_card_location_entry", columnList = "location_code, entry_id")
+})
+// 카드 목록 조회 전용 읽기 모델 (DiaryEntry 작성 시점에 병합 결과를 미리 저장)
+public class DiaryCard {
+    private static final String URL_SEPARATOR = "\n";
+
+    // DiaryEntry의 id를 그대로 사용 (최신순 정렬 키)
+    @Id
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "location_code")
+    private String locationCode;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String mergedContent;
+
+    @Column(length = 200)
+    private String excerpt;
+
+    // 이미지 URL 목록을 줄바꿈으로 이어서 저장 (축소본 목록도 같은 순서)
+    @Column(columnDefinition = "TEXT")
+    private String imageUrls;
+
+    @Column(columnDefinition = "TEXT")
+    private String thumbnailUrls;
+
+    @Column(columnDefinition = "TEXT")
+    private String mediumUrls;
+
+    private LocalDate date;
+
+    public List<String> getImageUrlList() {
+        return split(imageUrls);
+    }
+
+    public List<String> getThumbnailUrlList() {
+        return split(thumbnailUrls);
+    }
+
+    public List<String> getMediumUrlList() {
+        return split(mediumUrls);
+    }
+
+    public void setImageUrlList(List<String> urls) {
+        this.imageUrls = join(urls);
+    }
+
+    public void setThumbnailUrlList(List<String> urls) {
+        this.thumbnailUrls = join(urls);
+    }
+
+    public void setMediumUrlList(List<String> urls) {
+        this.mediumUrls = join(urls);
+    }
+
+    private static List<String> split(String joined) {
+        if (joined == null || joined.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(joined.split(URL_SEPARATOR)));
+    }
+
+    private static String join(List<String> urls) {
+        return (urls == null || urls.isEmpty()) ? null : String.join(URL_SEPARATOR, urls);
+    }
+}
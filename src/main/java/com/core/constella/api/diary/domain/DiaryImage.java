@@ -15,6 +15,15 @@ public class DiaryImage {
 
     private String imageUrl;
 
+    // 목록 화면용 축소본 URL (축소본이 없는 기존 이미지는 null)
+    private String thumbnailUrl;
+
+    private String mediumUrl;
+
+    // 내용 주소 저장소(image_blob)의 SHA-256, 기존 이미지는 null
+    @Column(name = "blob_hash", length = 64)
+    private String blobHash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "entry_id")
     private DiaryEntry entry;
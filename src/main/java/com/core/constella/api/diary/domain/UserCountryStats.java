@@ -0,0 +1,48 @@
+package com.core.constella.api.diary.domain;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "user_country_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_country_stats_user_location", columnNames = {"user_id", "location_code"})
+})
+// 사용자/나라별 일기 개수 카운터 (글 작성 트랜잭션에서 함께 증가, 통계 조회는 이 테이블만 읽음)
+public class UserCountryStats {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "location_code", nullable = false)
+    private String locationCode;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    // 해당 나라 일기 중 가장 이른/늦은 날짜 (날짜 없는 글만 있으면 null)
+    @Column(name = "first_date")
+    private LocalDate firstDate;
+
+    @Column(name = "last_date")
+    private LocalDate lastDate;
+}
@@ -0,0 +1,43 @@
+package com.core.constella.api.diary.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "user_month_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_month_stats_user_bucket_location", columnNames = {"user_id", "bucket", "location_code"})
+})
+// 사용자/월/나라별 일기 개수 (DiaryEntry.date 기준, 기간 차트는 (user_id, bucket) 범위 조회 한 번)
+public class UserMonthStats {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // yyyyMM 형식의 월 버킷 (예: 202403)
+    @Column(name = "bucket", nullable = false)
+    private int bucket;
+
+    @Column(name = "location_code", nullable = false)
+    private String locationCode;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+}
@@ -0,0 +1,21 @@
+package com.core.constella.api.diary.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 커서 기반 페이지 응답 DTO (nextCursor를 다음 요청의 cursor로 그대로 넘기면 됨)
+public class DiaryCursorPage {
+    private List<DiaryMergedResponse> items;
+    private Long nextCursor;
+    private boolean hasNext;
+}
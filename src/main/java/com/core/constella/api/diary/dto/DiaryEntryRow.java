@@ -0,0 +1,17 @@
+package com.core.constella.api.diary.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+// diary_card 생성용 DiaryEntry 프로젝션 (엔티티 그래프 없이 한 행씩 읽음)
+public class DiaryEntryRow {
+    private Long id;
+    private Long userId;
+    private String locationCode;
+    private String title;
+    private LocalDate date;
+}
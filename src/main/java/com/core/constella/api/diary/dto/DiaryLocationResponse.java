@@ -0,0 +1,21 @@
+package com.core.constella.api.diary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DiaryLocationResponse {
+    private Long diaryId;
+    private String locationCode;
+    private Double latitude;
+    private Double longitude;
+    // 반경 검색일 때 중심점으로부터의 거리 (km), 영역 검색이면 null
+    private Double distanceKm;
+}
@@ -20,6 +20,10 @@ public class DiaryMergedResponse {
     private String locationCode;
     private String mergedTitle;
     private String mergedContent;
+    private String excerpt;
     private List<String> imageUrls;
+    // imageUrls와 같은 순서의 축소본 URL (목록 화면은 thumbnailUrls 사용)
+    private List<String> thumbnailUrls;
+    private List<String> mediumUrls;
     private LocalDate date;
 }
@@ -0,0 +1,42 @@
+package com.core.constella.api.diary.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+// 전역 여행 통계 스냅샷 (countries는 일기 개수 많은 순)
+// 여러 요청이 같은 인스턴스를 공유하므로 생성 후에는 바꿀 수 없음
+public class GlobalStatsResponse {
+    private final long totalEntries;
+    private final long totalCountries;
+    private final long totalUsers;
+    // 이 스냅샷에 반영된 마지막 글 id와 생성 시각
+    private final long watermark;
+    private final LocalDateTime generatedAt;
+    private final List<CountryStats> countries;
+
+    @Builder
+    public GlobalStatsResponse(long totalEntries, long totalCountries, long totalUsers, long watermark,
+                               LocalDateTime generatedAt, List<CountryStats> countries) {
+        this.totalEntries = totalEntries;
+        this.totalCountries = totalCountries;
+        this.totalUsers = totalUsers;
+        this.watermark = watermark;
+        this.generatedAt = generatedAt;
+        this.countries = countries != null ? List.copyOf(countries) : List.of();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @Builder
+    public static class CountryStats {
+        private final String locationCode;
+        private final String countryName;
+        private final long entryCount;
+        private final long activeUsers;
+    }
+}
@@ -0,0 +1,33 @@
+package com.core.constella.api.diary.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 기간별 일기 개수 (granularity가 month면 period는 "2024-03", year면 "2024")
+public class StatsTimelineResponse {
+    private String granularity;
+    private List<Point> points;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+        private String period;
+        private long total;
+        // locationCode -> 개수
+        private Map<String, Long> byCountry;
+    }
+}
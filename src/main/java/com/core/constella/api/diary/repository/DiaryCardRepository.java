@@ -0,0 +1,40 @@
+package com.core.constella.api.diary.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.core.constella.api.diary.domain.DiaryCard;
+
+import jakarta.persistence.QueryHint;
+
+public interface DiaryCardRepository extends JpaRepository<DiaryCard, Long> {
+    List<DiaryCard> findByUserIdAndLocationCodeOrderByEntryIdDesc(Long userId, String locationCode);
+
+    // 전체 카드 목록 (entryId 내림차순 keyset 페이지네이션, cursor가 null이면 첫 페이지)
+    @Query("SELECT c FROM DiaryCard c WHERE (:cursor IS NULL OR c.entryId < :cursor) ORDER BY c.entryId DESC")
+    List<DiaryCard> findPageBefore(@Param("cursor") Long cursor, Pageable pageable);
+
+    // userId별 카드 목록 (keyset 페이지네이션)
+    @Query("SELECT c FROM DiaryCard c WHERE c.userId = :userId AND (:cursor IS NULL OR c.entryId < :cursor) ORDER BY c.entryId DESC")
+    List<DiaryCard> findPageByUserIdBefore(@Param("userId") Long userId, @Param("cursor") Long cursor, Pageable pageable);
+
+    // locationCode별 카드 목록 (keyset 페이지네이션)
+    @Query("SELECT c FROM DiaryCard c WHERE c.locationCode = :locationCode AND (:cursor IS NULL OR c.entryId < :cursor) ORDER BY c.entryId DESC")
+    List<DiaryCard> findPageByLocationCodeBefore(@Param("locationCode") String locationCode, @Param("cursor") Long cursor, Pageable pageable);
+
+    // userId별 카드를 한 행씩 읽는 forward-only 스트림 (MySQL은 fetchSize=Integer.MIN_VALUE일 때 행 단위 스트리밍)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM DiaryCard c WHERE c.userId = :userId ORDER BY c.entryId DESC")
+    Stream<DiaryCard> streamByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,45 @@
+package com.core.constella.api.diary.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.core.constella.api.diary.domain.DiaryEntry;
+import com.core.constella.api.diary.dto.DiaryEntryRow;
+
+public interface DiaryEntryRepository extends JpaRepository<DiaryEntry, Long> {
+
+    // 카드 생성에 필요한 글 정보를 엔티티 그래프 없이 한 번에 조회
+    @Query("SELECT new com.core.constella.api.diary.dto.DiaryEntryRow(e.id, d.user.id, d.locationCode, e.title, e.date) " +
+           "FROM DiaryEntry e JOIN e.diary d WHERE e.id IN :entryIds")
+    List<DiaryEntryRow> findRowsByEntryIds(@Param("entryIds") Collection<Long> entryIds);
+
+    // 아직 diary_card가 만들어지지 않은 글 id (기존 데이터 백필용, afterId 다음부터 id 순)
+    @Query("SELECT e.id FROM DiaryEntry e WHERE e.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM DiaryCard c WHERE c.entryId = e.id) ORDER BY e.id")
+    List<Long> findEntryIdsWithoutCard(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 여러 글의 본문을 한 번에 조회 ([entryId, content])
+    @Query("SELECT e.id, c FROM DiaryEntry e JOIN e.contents c WHERE e.id IN :entryIds")
+    List<Object[]> findContentsByEntryIds(@Param("entryIds") Collection<Long> entryIds);
+
+    // 여러 글의 이미지 URL을 한 번에 조회 ([entryId, imageUrl, thumbnailUrl, mediumUrl])
+    @Query("SELECT i.entry.id, i.imageUrl, i.thumbnailUrl, i.mediumUrl FROM DiaryImage i WHERE i.entry.id IN :entryIds ORDER BY i.id")
+    List<Object[]> findImageUrlsByEntryIds(@Param("entryIds") Collection<Long> entryIds);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM DiaryEntry e")
+    long findMaxId();
+
+    // watermark 이후에 추가된 글의 [entryId, userId, locationCode] (전역 통계 증분 반영용)
+    @Query("SELECT e.id, d.user.id, d.locationCode FROM DiaryEntry e JOIN e.diary d WHERE e.id > :afterId ORDER BY e.id")
+    List<Object[]> findCountryRowsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    // maxId까지의 글을 나라/사용자별로 집계한 [locationCode, userId, 개수] (전역 통계 전체 재계산용)
+    @Query("SELECT d.locationCode, d.user.id, COUNT(e) FROM DiaryEntry e JOIN e.diary d " +
+           "WHERE e.id <= :maxId GROUP BY d.locationCode, d.user.id")
+    List<Object[]> countByCountryAndUserUpTo(@Param("maxId") long maxId);
+}
@@ -1,5 +1,6 @@
 package com.core.constella.api.diary.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,10 +25,62 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
     @Query("SELECT d.locationCode, COUNT(e) as cnt FROM Diary d JOIN d.entries e GROUP BY d.locationCode ORDER BY cnt DESC")
     List<Object[]> findMostVisitedCountries(Pageable pageable);
 
+    // userId별 나라(locationCode)별 [locationCode, 일기 개수, 최초 날짜, 최근 날짜] (통계 카운터 재계산용)
+    @Query("SELECT d.locationCode, COUNT(e), MIN(e.date), MAX(e.date) FROM Diary d JOIN d.entries e " +
+           "WHERE d.user.id = :userId GROUP BY d.locationCode")
+    List<Object[]> countEntriesByCountryForUser(@Param("userId") Long userId);
+
+    // userId별 월(yyyyMM)/나라별 [bucket, locationCode, 일기 개수] (월별 통계 재계산용, 날짜 없는 글 제외)
+    @Query("SELECT YEAR(e.date) * 100 + MONTH(e.date), d.locationCode, COUNT(e) FROM Diary d JOIN d.entries e " +
+           "WHERE d.user.id = :userId AND e.date IS NOT NULL " +
+           "GROUP BY YEAR(e.date) * 100 + MONTH(e.date), d.locationCode")
+    List<Object[]> countEntriesByMonthForUser(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT d.user.id FROM Diary d WHERE d.user IS NOT NULL")
+    List<Long> findDistinctUserIds();
+
+    // 지도 클러스터 재계산용, 같은 나라/좌표의 다이어리 수 ([locationCode, latitude, longitude, count])
+    @Query("SELECT d.locationCode, d.latitude, d.longitude, COUNT(d) FROM Diary d " +
+           "WHERE d.latitude IS NOT NULL AND d.longitude IS NOT NULL GROUP BY d.locationCode, d.latitude, d.longitude")
+    List<Object[]> countDiariesByLocationAndCoordinates();
+
+    // userId의 다이어리 중 geohash가 범위 [from, to) 8개 중 하나에 드는 것 ([diaryId, locationCode, latitude, longitude])
+    // 범위가 8개보다 적으면 호출하는 쪽에서 마지막 범위를 반복해서 채움 (idx_diary_user_geohash 범위 조회)
+    @Query("SELECT d.id, d.locationCode, d.latitude, d.longitude FROM Diary d WHERE d.user.id = :userId AND (" +
+           "(d.geohash >= :from0 AND d.geohash < :to0) OR (d.geohash >= :from1 AND d.geohash < :to1) OR " +
+           "(d.geohash >= :from2 AND d.geohash < :to2) OR (d.geohash >= :from3 AND d.geohash < :to3) OR " +
+           "(d.geohash >= :from4 AND d.geohash < :to4) OR (d.geohash >= :from5 AND d.geohash < :to5) OR " +
+           "(d.geohash >= :from6 AND d.geohash < :to6) OR (d.geohash >= :from7 AND d.geohash < :to7))")
+    List<Object[]> findLocationsInGeohashRanges(
+            @Param("userId") Long userId,
+            @Param("from0") String from0, @Param("to0") String to0,
+            @Param("from1") String from1, @Param("to1") String to1,
+            @Param("from2") String from2, @Param("to2") String to2,
+            @Param("from3") String from3, @Param("to3") String to3,
+            @Param("from4") String from4, @Param("to4") String to4,
+            @Param("from5") String from5, @Param("to5") String to5,
+            @Param("from6") String from6, @Param("to6") String to6,
+            @Param("from7") String from7, @Param("to7") String to7);
+
     // userId별 나라별 일기 목록을 가져오며, entries를 즉시 로딩
     @Query("SELECT d FROM Diary d JOIN FETCH d.entries e WHERE d.user.id = :userId")
     List<Diary> findByUser_Id(@Param("userId") Long userId);
 
+    // userId의 일기가 있는 나라 코드 (처음 추가한 순서, 엔티티 로딩 없이)
+    @Query("SELECT d.locationCode FROM Diary d JOIN d.entries e WHERE d.user.id = :userId " +
+           "GROUP BY d.locationCode ORDER BY MIN(d.id)")
+    List<String> findDistinctLocationCodesByUserId(@Param("userId") Long userId);
+
+    // userId의 일기가 있는 나라별 좌표 ([locationCode, latitude, longitude], 엔티티 로딩 없이)
+    @Query("SELECT DISTINCT d.locationCode, d.latitude, d.longitude FROM Diary d JOIN d.entries e WHERE d.user.id = :userId")
+    List<Object[]> findPinCoordinatesByUserId(@Param("userId") Long userId);
+
+    // userId의 여러 나라 좌표를 한 번에 조회 ([locationCode, latitude, longitude])
+    @Query("SELECT d.locationCode, d.latitude, d.longitude FROM Diary d " +
+           "WHERE d.user.id = :userId AND d.locationCode IN :locationCodes")
+    List<Object[]> findCoordinatesByUserIdAndLocationCodes(@Param("userId") Long userId,
+                                                           @Param("locationCodes") Collection<String> locationCodes);
+
     // userId와 locationCode로 Diary 찾기
     @Query("SELECT d FROM Diary d WHERE d.user.id = :userId AND d.locationCode = :locationCode")
     Optional<Diary> findByUser_IdAndLocationCode(@Param("userId") Long userId, @Param("locationCode") String locationCode);
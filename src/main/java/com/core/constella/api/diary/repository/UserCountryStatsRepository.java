@@ -0,0 +1,38 @@
+package com.core.constella.api.diary.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.core.constella.api.diary.domain.UserCountryStats;
+
+import jakarta.persistence.LockModeType;
+
+public interface UserCountryStatsRepository extends JpaRepository<UserCountryStats, Long> {
+
+    // 통계 조회용, 많이 쓴 나라 순
+    List<UserCountryStats> findByUserIdOrderByEntryCountDescLocationCodeAsc(Long userId);
+
+    // 재계산 중에는 해당 사용자 카운터 행(과 그 범위)을 잠가서 동시에 들어오는 증가와 겹치지 않게 함
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserCountryStats s WHERE s.userId = :userId")
+    List<UserCountryStats> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    // 글 1개 추가: 행이 없으면 만들고 있으면 개수/날짜 범위만 갱신 (한 문장으로 원자적 처리)
+    @Modifying
+    @Query(value = "INSERT INTO user_country_stats (user_id, location_code, entry_count, first_date, last_date) " +
+                   "VALUES (:userId, :locationCode, 1, :date, :date) " +
+                   "ON DUPLICATE KEY UPDATE entry_count = entry_count + 1, " +
+                   "first_date = LEAST(COALESCE(first_date, VALUES(first_date)), COALESCE(VALUES(first_date), first_date)), " +
+                   "last_date = GREATEST(COALESCE(last_date, VALUES(last_date)), COALESCE(VALUES(last_date), last_date))",
+           nativeQuery = true)
+    void increment(@Param("userId") Long userId, @Param("locationCode") String locationCode, @Param("date") LocalDate date);
+
+    @Query("SELECT DISTINCT s.userId FROM UserCountryStats s")
+    List<Long> findDistinctUserIds();
+}
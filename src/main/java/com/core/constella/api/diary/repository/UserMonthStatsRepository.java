@@ -0,0 +1,29 @@
+package com.core.constella.api.diary.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.core.constella.api.diary.domain.UserMonthStats;
+
+import jakarta.persistence.LockModeType;
+
+public interface UserMonthStatsRepository extends JpaRepository<UserMonthStats, Long> {
+
+    // 기간 차트용 범위 조회 (uk_user_month_stats_user_bucket_location 인덱스 범위 스캔)
+    List<UserMonthStats> findByUserIdAndBucketBetweenOrderByBucketAscLocationCodeAsc(Long userId, int fromBucket, int toBucket);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserMonthStats s WHERE s.userId = :userId")
+    List<UserMonthStats> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_month_stats (user_id, bucket, location_code, entry_count) " +
+                   "VALUES (:userId, :bucket, :locationCode, 1) " +
+                   "ON DUPLICATE KEY UPDATE entry_count = entry_count + 1", nativeQuery = true)
+    void increment(@Param("userId") Long userId, @Param("bucket") int bucket, @Param("locationCode") String locationCode);
+}
@@ -0,0 +1,165 @@
+package com.core.constella.api.diary.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.core.constella.api.diary.domain.DiaryCard;
+import com.core.constella.api.diary.domain.DiaryEntry;
+import com.core.constella.api.diary.dto.DiaryEntryRow;
+import com.core.constella.api.diary.dto.DiaryMergedResponse;
+import com.core.constella.api.diary.repository.DiaryCardRepository;
+import com.core.constella.api.diary.repository.DiaryEntryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+// diary_card 읽기 모델 유지 (쓰기 시점에 병합 결과를 만들어 두고 조회는 카드만 읽음)
+public class DiaryCardService {
+    private static final int EXCERPT_LENGTH = 100;
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private final DiaryCardRepository diaryCardRepository;
+    private final DiaryEntryRepository diaryEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private static final Logger log = LoggerFactory.getLogger(DiaryCardService.class);
+
+    // 방금 저장한 글(영속 상태)로 카드 생성/갱신, 추가 조회 없음
+    @Transactional
+    public DiaryCard upsert(Long userId, String locationCode, DiaryEntry entry) {
+        List<ImageUrls> imageUrls = entry.getImages().stream()
+                .map(i -> new ImageUrls(i.getImageUrl(), i.getThumbnailUrl(), i.getMediumUrl()))
+                .collect(Collectors.toList());
+        DiaryCard card = buildCard(entry.getId(), userId, locationCode, entry.getTitle(), entry.getDate(),
+                mergeContents(entry.getContents()), imageUrls);
+        return diaryCardRepository.save(card);
+    }
+
+    // 글 id 목록으로 카드 재생성 (글 조회 1회 + 본문/이미지 IN 조회 2회), 만든 카드 수 반환
+    @Transactional
+    public int refresh(List<Long> entryIds) {
+        if (entryIds.isEmpty()) {
+            return 0;
+        }
+        List<DiaryEntryRow> rows = diaryEntryRepository.findRowsByEntryIds(entryIds);
+
+        Map<Long, StringBuilder> contentsByEntry = new HashMap<>();
+        for (Object[] row : diaryEntryRepository.findContentsByEntryIds(entryIds)) {
+            contentsByEntry.computeIfAbsent((Long) row[0], k -> new StringBuilder())
+                    .append((String) row[1]).append("\n");
+        }
+        Map<Long, List<ImageUrls>> imagesByEntry = new HashMap<>();
+        for (Object[] row : diaryEntryRepository.findImageUrlsByEntryIds(entryIds)) {
+            imagesByEntry.computeIfAbsent((Long) row[0], k -> new ArrayList<>())
+                    .add(new ImageUrls((String) row[1], (String) row[2], (String) row[3]));
+        }
+
+        List<DiaryCard> cards = new ArrayList<>(rows.size());
+        for (DiaryEntryRow row : rows) {
+            StringBuilder content = contentsByEntry.get(row.getId());
+            cards.add(buildCard(row.getId(), row.getUserId(), row.getLocationCode(), row.getTitle(), row.getDate(),
+                    content != null ? content.toString() : "",
+                    imagesByEntry.getOrDefault(row.getId(), new ArrayList<>())));
+        }
+        diaryCardRepository.saveAll(cards);
+        return cards.size();
+    }
+
+    /**
+     * 카드가 없는 기존 글들을 일정 크기씩 나눠서 카드 생성 (묶음마다 별도 트랜잭션)
+     * 일기가 없는 글처럼 카드를 만들 수 없는 글이 있어도 끝나도록 마지막 id 다음부터 이어서 조회
+     */
+    public void backfillMissingCards() {
+        int total = 0;
+        int skipped = 0;
+        long lastId = 0;
+        List<Long> entryIds;
+        while (!(entryIds = diaryEntryRepository.findEntryIdsWithoutCard(lastId, PageRequest.of(0, BACKFILL_CHUNK_SIZE))).isEmpty()) {
+            List<Long> chunk = entryIds;
+            // 같은 클래스 안에서 refresh()를 부르면 @Transactional이 적용되지 않으므로 템플릿으로 감쌈
+            Integer created = transactionTemplate.execute(status -> refresh(chunk));
+            int count = created != null ? created : 0;
+            total += count;
+            skipped += chunk.size() - count;
+            lastId = chunk.get(chunk.size() - 1);
+        }
+        if (total > 0) {
+            log.info("Backfilled {} diary cards", total);
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} diary entries without a diary while backfilling cards", skipped);
+        }
+    }
+
+    public DiaryMergedResponse toResponse(DiaryCard card) {
+        return DiaryMergedResponse.builder()
+                .id(card.getEntryId())
+                .locationCode(card.getLocationCode())
+                .mergedTitle(card.getTitle())
+                .mergedContent(card.getMergedContent())
+                .excerpt(card.getExcerpt())
+                .imageUrls(card.getImageUrlList())
+                .thumbnailUrls(card.getThumbnailUrlList())
+                .mediumUrls(card.getMediumUrlList())
+                .date(card.getDate())
+                .build();
+    }
+
+    public List<DiaryMergedResponse> toResponses(List<DiaryCard> cards) {
+        return cards.stream().map(this::toResponse).collect(Collectors.toList());
+    }
+
+    private DiaryCard buildCard(Long entryId, Long userId, String locationCode, String title, LocalDate date,
+                                String mergedContent, List<ImageUrls> imageUrls) {
+        DiaryCard card = DiaryCard.builder()
+                .entryId(entryId)
+                .userId(userId)
+                .locationCode(locationCode)
+                .title(title)
+                .mergedContent(mergedContent)
+                .excerpt(excerptOf(mergedContent))
+                .date(date)
+                .build();
+        // 축소본이 없는 기존 이미지는 원본 URL로 채워서 세 목록의 순서/길이를 맞춤
+        card.setImageUrlList(imageUrls.stream().map(ImageUrls::original).collect(Collectors.toList()));
+        card.setThumbnailUrlList(imageUrls.stream().map(ImageUrls::thumbnailOrOriginal).collect(Collectors.toList()));
+        card.setMediumUrlList(imageUrls.stream().map(ImageUrls::mediumOrOriginal).collect(Collectors.toList()));
+        return card;
+    }
+
+    private record ImageUrls(String original, String thumbnail, String medium) {
+        String thumbnailOrOriginal() {
+            return thumbnail != null ? thumbnail : original;
+        }
+
+        String mediumOrOriginal() {
+            return medium != null ? medium : original;
+        }
+    }
+
+    private String mergeContents(List<String> contents) {
+        StringBuilder contentBuilder = new StringBuilder();
+        if (contents != null) {
+            for (String content : contents) {
+                contentBuilder.append(content).append("\n");
+            }
+        }
+        return contentBuilder.toString();
+    }
+
+    private String excerptOf(String mergedContent) {
+        String flat = mergedContent.replace('\n', ' ').trim();
+        return flat.length() <= EXCERPT_LENGTH ? flat : flat.substring(0, EXCERPT_LENGTH) + "…";
+    }
+}
@@ -0,0 +1,150 @@
+package com.core.constella.api.diary.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.core.constella.api.diary.domain.Diary;
+import com.core.constella.api.diary.dto.DiaryLocationResponse;
+import com.core.constella.api.diary.repository.DiaryRepository;
+import com.core.constella.global.geo.GeoHash;
+import com.core.constella.global.geo.GeoMath;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 사용자 다이어리 반경/영역 검색
+ * 영역을 덮는 geohash 셀을 문자열 범위로 바꿔 인덱스 범위 조회로 후보를 좁힌 뒤, 실제 거리/영역으로 다시 거름
+ * 그래서 비용이 사용자의 전체 다이어리 수가 아니라 영역 근처의 다이어리 수에 비례
+ */
+@Service
+@RequiredArgsConstructor
+public class DiaryGeoSearchService {
+    public static final int MAX_LIMIT = 500;
+    public static final double MAX_RADIUS_KM = 20_000;
+    // DiaryRepository.findLocationsInGeohashRanges 범위 개수
+    private static final int QUERY_RANGES = 8;
+    // 후보 셀 수 상한 (넘으면 더 큰 셀로 덮음)
+    private static final int MAX_CELLS = 64;
+
+    private final DiaryRepository diaryRepository;
+
+    // 중심점에서 radiusKm 안의 다이어리, 가까운 순
+    @Transactional(readOnly = true)
+    public List<DiaryLocationResponse> findNearby(Long userId, double lat, double lng, double radiusKm, int limit) {
+        validatePoint(lat, lng);
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("반경은 0보다 크고 " + MAX_RADIUS_KM + "km 이하여야 합니다: " + radiusKm);
+        }
+        validateLimit(limit);
+
+        // 원을 감싸는 위도/경도 영역 (극을 포함하거나 경도 폭이 180도를 넘으면 경도 전체)
+        double angle = radiusKm / GeoMath.EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angle);
+        double minLat = lat - dLat;
+        double maxLat = lat + dLat;
+        double minLng = -180;
+        double maxLng = 180;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        if (minLat > -90 && maxLat < 90 && Math.sin(angle) < cosLat) {
+            double dLng = Math.toDegrees(Math.asin(Math.sin(angle) / cosLat));
+            if (dLng < 180) {
+                minLng = wrapLng(lng - dLng);
+                maxLng = wrapLng(lng + dLng);
+            }
+        }
+
+        List<DiaryLocationResponse> result = new ArrayList<>();
+        for (Object[] row : findCandidates(userId, Math.max(minLat, -90), minLng, Math.min(maxLat, 90), maxLng)) {
+            double distance = GeoMath.haversineKm(lat, lng, (Double) row[2], (Double) row[3]);
+            if (distance <= radiusKm) {
+                result.add(toResponse(row, distance));
+            }
+        }
+        result.sort(Comparator.comparingDouble(DiaryLocationResponse::getDistanceKm)
+                .thenComparing(DiaryLocationResponse::getDiaryId));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    // 영역 안의 다이어리 (minLng > maxLng면 날짜변경선을 넘는 영역)
+    @Transactional(readOnly = true)
+    public List<DiaryLocationResponse> findWithin(Long userId, double minLat, double minLng,
+                                                  double maxLat, double maxLng, int limit) {
+        validatePoint(minLat, minLng);
+        validatePoint(maxLat, maxLng);
+        if (minLat > maxLat) {
+            throw new IllegalArgumentException("minLat은 maxLat보다 클 수 없습니다.");
+        }
+        validateLimit(limit);
+
+        List<DiaryLocationResponse> result = new ArrayList<>();
+        for (Object[] row : findCandidates(userId, minLat, minLng, maxLat, maxLng)) {
+            double rowLat = (Double) row[2];
+            double rowLng = (Double) row[3];
+            boolean inLng = minLng <= maxLng
+                    ? rowLng >= minLng && rowLng <= maxLng
+                    : rowLng >= minLng || rowLng <= maxLng;
+            if (rowLat >= minLat && rowLat <= maxLat && inLng) {
+                result.add(toResponse(row, null));
+            }
+        }
+        result.sort(Comparator.comparing(DiaryLocationResponse::getDiaryId));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    // 가장 촘촘한 정밀도부터 시도해서 셀 범위가 QUERY_RANGES개 이하가 되는 정밀도로 한 번 조회
+    private List<Object[]> findCandidates(Long userId, double minLat, double minLng, double maxLat, double maxLng) {
+        List<String[]> ranges = null;
+        for (int precision = Diary.GEOHASH_PRECISION; precision >= 1 && ranges == null; precision--) {
+            List<String> cells = GeoHash.covering(minLat, minLng, maxLat, maxLng, precision, MAX_CELLS);
+            if (cells != null) {
+                List<String[]> merged = GeoHash.ranges(cells);
+                if (merged.size() <= QUERY_RANGES) {
+                    ranges = merged;
+                }
+            }
+        }
+        if (ranges == null) {
+            // 정밀도 1에서도 범위가 너무 많으면 전체 범위 (좌표가 있는 다이어리만 geohash가 있음)
+            ranges = List.of(new String[] {"0", GeoHash.successor("z")});
+        }
+        String[][] padded = new String[QUERY_RANGES][];
+        for (int i = 0; i < QUERY_RANGES; i++) {
+            padded[i] = ranges.get(Math.min(i, ranges.size() - 1));
+        }
+        return diaryRepository.findLocationsInGeohashRanges(userId,
+                padded[0][0], padded[0][1], padded[1][0], padded[1][1],
+                padded[2][0], padded[2][1], padded[3][0], padded[3][1],
+                padded[4][0], padded[4][1], padded[5][0], padded[5][1],
+                padded[6][0], padded[6][1], padded[7][0], padded[7][1]);
+    }
+
+    private DiaryLocationResponse toResponse(Object[] row, Double distanceKm) {
+        return DiaryLocationResponse.builder()
+                .diaryId((Long) row[0])
+                .locationCode((String) row[1])
+                .latitude((Double) row[2])
+                .longitude((Double) row[3])
+                .distanceKm(distanceKm)
+                .build();
+    }
+
+    private static double wrapLng(double lng) {
+        return lng - 360 * Math.floor((lng + 180) / 360);
+    }
+
+    private static void validatePoint(double lat, double lng) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("좌표 범위가 올바르지 않습니다: " + lat + ", " + lng);
+        }
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit은 1에서 " + MAX_LIMIT + " 사이여야 합니다: " + limit);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.core.constella.api.diary.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.core.constella.api.diary.domain.DiaryEntry;
+import com.core.constella.api.diary.domain.DiaryImage;
+import com.core.constella.api.diary.repository.DiaryEntryRepository;
+import com.core.constella.api.image.dto.HashedFile;
+import com.core.constella.api.image.dto.StoredBlob;
+import com.core.constella.api.image.service.ImageBlobService;
+import com.core.constella.global.cache.UserDataCache;
+import com.core.constella.global.metrics.LatencyRecorder;
+import com.core.constella.global.metrics.MetricsSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 다이어리 이미지 수집 파이프라인
+ * 1) stage: 요청 스레드에서 업로드 파일을 스테이징 영역으로 복사하면서 SHA-256 계산 (트랜잭션 밖)
+ * 2) finalize: 커밋 이후 백그라운드에서 hash 이름으로 저장하고 blob 참조 수 증가 (중복 내용은 기존 파일 재사용), 축소본 생성
+ * 3) attach: 별도 트랜잭션에서 DiaryImage 저장 및 카드/캐시 갱신, 실패하면 finalize에서 잡은 참조를 해제
+ */
+@Service
+public class DiaryImageIngestionService implements MetricsSource {
+    private static final String[] ALLOWED_EXTENSIONS = {".jpg", ".jpeg", ".png", ".gif", ".bmp"};
+    private static final Logger log = LoggerFactory.getLogger(DiaryImageIngestionService.class);
+
+    private final DiaryEntryRepository diaryEntryRepository;
+    private final DiaryCardService diaryCardService;
+    private final ImageBlobService imageBlobService;
+    private final UserDataCache userDataCache;
+    private final TransactionTemplate attachTransaction;
+    private final ThreadPoolExecutor executor;
+
+    private final Path stagingPath;
+
+    private final LatencyRecorder stageLatency = new LatencyRecorder();
+    private final LatencyRecorder finalizeLatency = new LatencyRecorder();
+    private final LatencyRecorder attachLatency = new LatencyRecorder();
+    private final LongAdder completedJobs = new LongAdder();
+    private final LongAdder failedJobs = new LongAdder();
+
+    public DiaryImageIngestionService(DiaryEntryRepository diaryEntryRepository,
+                                      DiaryCardService diaryCardService,
+                                      ImageBlobService imageBlobService,
+                                      UserDataCache userDataCache,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.upload.staging-dir:./uploads/.staging}") String stagingDir,
+                                      @Value("${app.upload.ingest.threads:2}") int threads,
+                                      @Value("${app.upload.ingest.queue-capacity:200}") int queueCapacity) {
+        this.diaryEntryRepository = diaryEntryRepository;
+        this.diaryCardService = diaryCardService;
+        this.imageBlobService = imageBlobService;
+        this.userDataCache = userDataCache;
+        this.stagingPath = Paths.get(stagingDir);
+
+        // afterCommit 콜백 안에서도 실행될 수 있으므로 항상 새 트랜잭션으로 저장
+        this.attachTransaction = new TransactionTemplate(transactionManager);
+        this.attachTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // 큐가 가득 차면 요청 스레드에서 직접 처리 (작업을 버리지 않고 속도를 늦춤)
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-ingest-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // 업로드 파일을 스테이징 영역으로 복사하면서 hash 계산 (원본 파일명은 저장하지 않음)
+    public List<HashedFile> stage(List<MultipartFile> files) throws IOException {
+        List<HashedFile> staged = new ArrayList<>();
+        if (files == null || files.isEmpty()) {
+            return staged;
+        }
+        long start = System.nanoTime();
+        Files.createDirectories(stagingPath);
+        try {
+            for (MultipartFile file : files) {
+                if (file.isEmpty()) {
+                    continue;
+                }
+                String originalFilename = file.getOriginalFilename();
+                if (originalFilename == null || !isValidImageFile(originalFilename)) {
+                    throw new IllegalArgumentException("유효하지 않은 이미지 파일입니다: " + originalFilename);
+                }
+                Path target = stagingPath.resolve(UUID.randomUUID() + ".upload").toAbsolutePath();
+                HashedFile image = imageBlobService.copyAndHash(file.getInputStream(), target);
+                staged.add(image);
+                // 응답 전에 내용을 확인해서, 이미지가 아닌 파일은 글 저장 전에 400으로 거절
+                if (imageBlobService.detectExtension(image.getPath()) == null) {
+                    throw new IllegalArgumentException("유효하지 않은 이미지 파일입니다: " + originalFilename);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            discard(staged);
+            throw e;
+        }
+        stageLatency.recordSince(start);
+        return staged;
+    }
+
+    // 글 저장 트랜잭션이 커밋된 뒤 백그라운드에서 이미지를 확정하고 글에 연결
+    public void scheduleAttach(Long entryId, Long userId, List<HashedFile> staged) {
+        if (staged.isEmpty()) {
+            return;
+        }
+        Runnable submit = () -> executor.execute(() -> finalizeAndAttach(entryId, userId, staged));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    // 글 저장이 실패했을 때 스테이징 파일 정리
+    public void discard(List<HashedFile> staged) {
+        for (HashedFile image : staged) {
+            try {
+                Files.deleteIfExists(image.getPath());
+            } catch (IOException e) {
+                log.warn("Failed to delete staged image {}: {}", image.getPath(), e.getMessage());
+            }
+        }
+    }
+
+    private void finalizeAndAttach(Long entryId, Long userId, List<HashedFile> staged) {
+        List<StoredBlob> blobs = new ArrayList<>();
+        try {
+            long start = System.nanoTime();
+            for (HashedFile image : staged) {
+                // 내용은 stage()에서 이미 확인했으므로 null이면 스테이징 파일이 손상된 경우
+                StoredBlob blob = imageBlobService.store(image);
+                if (blob == null) {
+                    log.warn("Skipping undecodable image {} for entry {}", image.getSha256(), entryId);
+                    Files.deleteIfExists(image.getPath());
+                    continue;
+                }
+                blobs.add(blob);
+            }
+            finalizeLatency.recordSince(start);
+
+            start = System.nanoTime();
+            attachTransaction.executeWithoutResult(status -> attach(entryId, userId, blobs));
+            attachLatency.recordSince(start);
+            completedJobs.increment();
+        } catch (Exception e) {
+            failedJobs.increment();
+            log.error("Failed to ingest images for entry {}: {}", entryId, e.getMessage(), e);
+            discard(staged);
+            // store()에서 잡은 참조를 해제 (다른 글이 참조하지 않으면 파일도 삭제)
+            for (StoredBlob blob : blobs) {
+                try {
+                    imageBlobService.release(blob);
+                } catch (RuntimeException releaseError) {
+                    log.warn("Failed to release image blob {}: {}", blob.getHash(), releaseError.getMessage());
+                }
+            }
+        }
+    }
+
+    private void attach(Long entryId, Long userId, List<StoredBlob> blobs) {
+        if (blobs.isEmpty()) {
+            return;
+        }
+        DiaryEntry entry = diaryEntryRepository.getReferenceById(entryId);
+        for (StoredBlob blob : blobs) {
+            DiaryImage image = new DiaryImage();
+            image.setImageUrl(blob.getImageUrl());
+            image.setThumbnailUrl(blob.getThumbnailUrl());
+            image.setMediumUrl(blob.getMediumUrl());
+            image.setBlobHash(blob.getHash());
+            image.setEntry(entry);
+            entry.getImages().add(image);
+        }
+        diaryCardService.refresh(List.of(entryId));
+        // 이 트랜잭션 커밋 시점에 캐시 버전이 올라가도록 트랜잭션 안에서 등록
+        userDataCache.invalidate(userId);
+    }
+
+    // 이미지 파일 확장자 검증 메서드
+    private boolean isValidImageFile(String filename) {
+        String lowercaseFilename = filename.toLowerCase();
+        for (String ext : ALLOWED_EXTENSIONS) {
+            if (lowercaseFilename.endsWith(ext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Image ingestion executor did not finish in time, {} jobs left", executor.getQueue().size());
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "imageIngestion";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("queueDepth", executor.getQueue().size());
+        snapshot.put("activeJobs", executor.getActiveCount());
+        snapshot.put("completedJobs", completedJobs.sum());
+        snapshot.put("failedJobs", failedJobs.sum());
+        snapshot.put("stage", stageLatency.snapshot());
+        snapshot.put("finalize", finalizeLatency.snapshot());
+        snapshot.put("attach", attachLatency.snapshot());
+        return snapshot;
+    }
+}
@@ -0,0 +1,178 @@
+package com.core.constella.api.diary.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.core.constella.api.diary.domain.UserCountryStats;
+import com.core.constella.api.diary.domain.UserMonthStats;
+import com.core.constella.api.diary.dto.StatsTimelineResponse;
+import com.core.constella.api.diary.repository.DiaryRepository;
+import com.core.constella.api.diary.repository.UserCountryStatsRepository;
+import com.core.constella.api.diary.repository.UserMonthStatsRepository;
+import com.core.constella.global.cache.UserDataCache;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+// user_country_stats / user_month_stats 카운터 유지 (글 작성 시 증가, 주기적으로 원본 테이블과 대조해서 보정)
+public class DiaryStatsService {
+    public static final String GRANULARITY_MONTH = "month";
+    public static final String GRANULARITY_YEAR = "year";
+
+    private final UserCountryStatsRepository userCountryStatsRepository;
+    private final UserMonthStatsRepository userMonthStatsRepository;
+    private final DiaryRepository diaryRepository;
+    private final UserDataCache userDataCache;
+    private final TransactionTemplate transactionTemplate;
+    private static final Logger log = LoggerFactory.getLogger(DiaryStatsService.class);
+
+    // 글 작성 트랜잭션 안에서 호출 (글 저장이 롤백되면 카운터도 같이 롤백)
+    @Transactional
+    public void recordEntry(Long userId, String locationCode, LocalDate date) {
+        userCountryStatsRepository.increment(userId, locationCode, date);
+        if (date != null) {
+            userMonthStatsRepository.increment(userId, toBucket(date), locationCode);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserCountryStats> getCounters(Long userId) {
+        return userCountryStatsRepository.findByUserIdOrderByEntryCountDescLocationCodeAsc(userId);
+    }
+
+    // 월 버킷 범위 조회 한 번으로 기간 차트 데이터 구성 (year는 월 버킷을 합산), from/to가 없으면 전체 기간
+    @Transactional(readOnly = true)
+    public StatsTimelineResponse getTimeline(Long userId, String granularity, YearMonth from, YearMonth to) {
+        if (!GRANULARITY_MONTH.equals(granularity) && !GRANULARITY_YEAR.equals(granularity)) {
+            throw new IllegalArgumentException("granularity는 month 또는 year 여야 합니다: " + granularity);
+        }
+        int fromBucket = from != null ? toBucket(from) : 0;
+        int toBucket = to != null ? toBucket(to) : Integer.MAX_VALUE;
+        if (fromBucket > toBucket) {
+            throw new IllegalArgumentException("from은 to보다 늦을 수 없습니다.");
+        }
+        boolean yearly = GRANULARITY_YEAR.equals(granularity);
+
+        // 버킷 오름차순으로 읽으므로 같은 기간은 연속해서 나옴
+        Map<String, StatsTimelineResponse.Point> points = new LinkedHashMap<>();
+        for (UserMonthStats stats : userMonthStatsRepository
+                .findByUserIdAndBucketBetweenOrderByBucketAscLocationCodeAsc(userId, fromBucket, toBucket)) {
+            int year = stats.getBucket() / 100;
+            String period = yearly ? String.valueOf(year) : String.format("%04d-%02d", year, stats.getBucket() % 100);
+            StatsTimelineResponse.Point point = points.computeIfAbsent(period, p -> StatsTimelineResponse.Point.builder()
+                    .period(p)
+                    .byCountry(new LinkedHashMap<>())
+                    .build());
+            point.setTotal(point.getTotal() + stats.getEntryCount());
+            point.getByCountry().merge(stats.getLocationCode(), stats.getEntryCount(), Long::sum);
+        }
+        return StatsTimelineResponse.builder()
+                .granularity(granularity)
+                .points(new ArrayList<>(points.values()))
+                .build();
+    }
+
+    // 모든 사용자의 카운터를 원본(diary, diary_entry)과 대조, 사용자 단위 트랜잭션으로 처리
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 30 4 * * *}")
+    public void reconcileAll() {
+        Set<Long> userIds = new TreeSet<>(diaryRepository.findDistinctUserIds());
+        userIds.addAll(userCountryStatsRepository.findDistinctUserIds());
+        int fixed = 0;
+        for (Long userId : userIds) {
+            try {
+                Integer changed = transactionTemplate.execute(status -> reconcileUser(userId) + reconcileMonths(userId));
+                if (changed != null && changed > 0) {
+                    fixed += changed;
+                    userDataCache.invalidate(userId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to reconcile stats for user {}: {}", userId, e.getMessage());
+            }
+        }
+        if (fixed > 0) {
+            log.info("Reconciled {} stats counter rows across {} users", fixed, userIds.size());
+        }
+    }
+
+    // 카운터 행을 먼저 잠근 뒤 집계하므로 그 사이에 들어온 글 작성은 재계산이 끝날 때까지 대기
+    private int reconcileUser(Long userId) {
+        Map<String, UserCountryStats> counters = new HashMap<>();
+        for (UserCountryStats stats : userCountryStatsRepository.findByUserIdForUpdate(userId)) {
+            counters.put(stats.getLocationCode(), stats);
+        }
+
+        int changed = 0;
+        for (Object[] row : diaryRepository.countEntriesByCountryForUser(userId)) {
+            String locationCode = (String) row[0];
+            long count = (Long) row[1];
+            LocalDate firstDate = (LocalDate) row[2];
+            LocalDate lastDate = (LocalDate) row[3];
+
+            UserCountryStats stats = counters.remove(locationCode);
+            if (stats == null) {
+                stats = UserCountryStats.builder().userId(userId).locationCode(locationCode).build();
+            } else if (stats.getEntryCount() == count && Objects.equals(stats.getFirstDate(), firstDate)
+                    && Objects.equals(stats.getLastDate(), lastDate)) {
+                continue;
+            }
+            stats.setEntryCount(count);
+            stats.setFirstDate(firstDate);
+            stats.setLastDate(lastDate);
+            userCountryStatsRepository.save(stats);
+            changed++;
+        }
+        // 원본에 더 이상 글이 없는 나라 카운터 제거
+        userCountryStatsRepository.deleteAll(counters.values());
+        return changed + counters.size();
+    }
+
+    private int reconcileMonths(Long userId) {
+        Map<String, UserMonthStats> counters = new HashMap<>();
+        for (UserMonthStats stats : userMonthStatsRepository.findByUserIdForUpdate(userId)) {
+            counters.put(stats.getBucket() + ":" + stats.getLocationCode(), stats);
+        }
+
+        int changed = 0;
+        for (Object[] row : diaryRepository.countEntriesByMonthForUser(userId)) {
+            int bucket = ((Number) row[0]).intValue();
+            String locationCode = (String) row[1];
+            long count = (Long) row[2];
+
+            UserMonthStats stats = counters.remove(bucket + ":" + locationCode);
+            if (stats == null) {
+                stats = UserMonthStats.builder().userId(userId).bucket(bucket).locationCode(locationCode).build();
+            } else if (stats.getEntryCount() == count) {
+                continue;
+            }
+            stats.setEntryCount(count);
+            userMonthStatsRepository.save(stats);
+            changed++;
+        }
+        userMonthStatsRepository.deleteAll(counters.values());
+        return changed + counters.size();
+    }
+
+    private static int toBucket(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    private static int toBucket(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+}
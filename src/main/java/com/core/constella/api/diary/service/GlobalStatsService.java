@@ -0,0 +1,174 @@
+package com.core.constella.api.diary.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.core.constella.api.country.service.CountryService;
+import com.core.constella.api.diary.dto.GlobalStatsResponse;
+import com.core.constella.api.diary.dto.GlobalStatsResponse.CountryStats;
+import com.core.constella.api.diary.repository.DiaryEntryRepository;
+import com.core.constella.global.metrics.LatencyRecorder;
+import com.core.constella.global.metrics.MetricsSource;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 전역 여행 통계 (나라별 일기 수, 나라별 활동 사용자 수)
+ * 조회는 메모리의 불변 스냅샷만 읽고, 스케줄러가 watermark(마지막 반영 글 id) 이후의 글만 읽어서 증분 반영 후 스냅샷을 교체함
+ * IDENTITY id는 커밋 순서와 다를 수 있어서 늦게 커밋된 글이 빠질 수 있으므로 주기적으로 전체 재계산
+ */
+@Service
+@RequiredArgsConstructor
+public class GlobalStatsService implements MetricsSource {
+    private static final int INCREMENT_CHUNK_SIZE = 1000;
+
+    private final DiaryEntryRepository diaryEntryRepository;
+    private static final Logger log = LoggerFactory.getLogger(GlobalStatsService.class);
+
+    private final AtomicReference<GlobalStatsResponse> snapshot = new AtomicReference<>(emptySnapshot());
+
+    // 집계 작업용 상태 (refresh/rebuild에서만 접근, this로 동기화)
+    private final Map<String, Long> entriesByCountry = new HashMap<>();
+    private final Map<String, Set<Long>> usersByCountry = new HashMap<>();
+    private final Set<Long> users = new HashSet<>();
+    private long watermark;
+    private boolean initialized;
+
+    private final LatencyRecorder refreshLatency = new LatencyRecorder();
+    private final LatencyRecorder rebuildLatency = new LatencyRecorder();
+
+    // 상위 limit개 나라만 잘라서 반환 (스냅샷 자체는 공유, 복사 비용은 limit만큼)
+    public GlobalStatsResponse getGlobalStats(int limit) {
+        GlobalStatsResponse current = snapshot.get();
+        if (current.getCountries().size() <= limit) {
+            return current;
+        }
+        return GlobalStatsResponse.builder()
+                .totalEntries(current.getTotalEntries())
+                .totalCountries(current.getTotalCountries())
+                .totalUsers(current.getTotalUsers())
+                .watermark(current.getWatermark())
+                .generatedAt(current.getGeneratedAt())
+                .countries(current.getCountries().subList(0, limit))
+                .build();
+    }
+
+    // watermark 이후 글만 반영 (첫 실행이면 전체 재계산)
+    @Scheduled(fixedDelayString = "${app.stats.global.refresh-interval:60s}", initialDelayString = "${app.stats.global.initial-delay:10s}")
+    public synchronized void refresh() {
+        if (!initialized) {
+            rebuild();
+            return;
+        }
+        long start = System.nanoTime();
+        int applied = 0;
+        List<Object[]> rows;
+        while (!(rows = diaryEntryRepository.findCountryRowsAfter(watermark, PageRequest.of(0, INCREMENT_CHUNK_SIZE))).isEmpty()) {
+            for (Object[] row : rows) {
+                apply((String) row[2], (Long) row[1], 1);
+                watermark = (Long) row[0];
+            }
+            applied += rows.size();
+        }
+        if (applied > 0) {
+            publish();
+            log.debug("Applied {} new entries to global stats, watermark={}", applied, watermark);
+        }
+        refreshLatency.recordSince(start);
+    }
+
+    // 나라/사용자별 GROUP BY 한 번으로 작업 상태를 다시 만들고 스냅샷 교체
+    @Scheduled(cron = "${app.stats.global.rebuild-cron:0 0 * * * *}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        long maxId = diaryEntryRepository.findMaxId();
+        entriesByCountry.clear();
+        usersByCountry.clear();
+        users.clear();
+        for (Object[] row : diaryEntryRepository.countByCountryAndUserUpTo(maxId)) {
+            apply((String) row[0], (Long) row[1], (Long) row[2]);
+        }
+        watermark = maxId;
+        initialized = true;
+        publish();
+        rebuildLatency.recordSince(start);
+        log.info("Rebuilt global stats: {} countries, watermark={}", entriesByCountry.size(), watermark);
+    }
+
+    private void apply(String locationCode, Long userId, long count) {
+        if (locationCode == null) {
+            return;
+        }
+        entriesByCountry.merge(locationCode, count, Long::sum);
+        if (userId != null) {
+            usersByCountry.computeIfAbsent(locationCode, k -> new HashSet<>()).add(userId);
+            users.add(userId);
+        }
+    }
+
+    private void publish() {
+        Map<String, String> names = CountryService.getCountryNameKoByCode();
+        List<CountryStats> countries = new ArrayList<>(entriesByCountry.size());
+        long totalEntries = 0;
+        for (Map.Entry<String, Long> entry : entriesByCountry.entrySet()) {
+            String locationCode = entry.getKey();
+            Set<Long> countryUsers = usersByCountry.get(locationCode);
+            countries.add(CountryStats.builder()
+                    .locationCode(locationCode)
+                    .countryName(names != null ? names.getOrDefault(locationCode, locationCode) : locationCode)
+                    .entryCount(entry.getValue())
+                    .activeUsers(countryUsers != null ? countryUsers.size() : 0)
+                    .build());
+            totalEntries += entry.getValue();
+        }
+        countries.sort(Comparator.comparingLong(CountryStats::getEntryCount).reversed()
+                .thenComparing(CountryStats::getLocationCode));
+
+        snapshot.set(GlobalStatsResponse.builder()
+                .totalEntries(totalEntries)
+                .totalCountries(countries.size())
+                .totalUsers(users.size())
+                .watermark(watermark)
+                .generatedAt(LocalDateTime.now())
+                .countries(countries)
+                .build());
+    }
+
+    private static GlobalStatsResponse emptySnapshot() {
+        return GlobalStatsResponse.builder()
+                .generatedAt(LocalDateTime.now())
+                .countries(List.of())
+                .build();
+    }
+
+    @Override
+    public String metricsName() {
+        return "globalStats";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        GlobalStatsResponse current = snapshot.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("watermark", current.getWatermark());
+        metrics.put("generatedAt", current.getGeneratedAt().toString());
+        metrics.put("countries", current.getTotalCountries());
+        metrics.put("refresh", refreshLatency.snapshot());
+        metrics.put("rebuild", rebuildLatency.snapshot());
+        return metrics;
+    }
+}
@@ -0,0 +1,124 @@
+package com.core.constella.api.image.controller;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.core.constella.api.image.service.ImageFileService;
+import com.core.constella.api.image.service.ImageFileService.ImageFile;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+// 업로드 이미지 전송 (조건부 GET 304, 단일 Range 206, hash 이름 파일 영구 캐시)
+public class ImageController {
+    // Tomcat NIO 커넥터가 sendfile을 지원할 때 요청 속성으로 파일 구간을 넘기면 컨테이너가 직접 전송
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    private final ImageFileService imageFileService;
+
+    @RequestMapping(value = "/images/{filename:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void getImage(@PathVariable String filename, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        ImageFile file = imageFileService.find(filename);
+        if (file == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                (file.isImmutable() ? IMMUTABLE : REVALIDATE).getHeaderValue());
+        // If-None-Match / If-Modified-Since 처리, 일치하면 304와 ETag/Last-Modified만 내려감
+        if (new ServletWebRequest(request, response).checkNotModified(file.getETag(), file.getLastModified())) {
+            imageFileService.recordNotModified();
+            return;
+        }
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(mediaType.toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long length = file.getLength();
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && isRangeApplicable(request, file)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // 여러 구간 요청(multipart/byteranges)은 지원하지 않고 전체 응답
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (response.getStatus() == HttpStatus.PARTIAL_CONTENT.value()) {
+            imageFileService.recordPartial();
+        } else {
+            imageFileService.recordFull();
+        }
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.getPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            imageFileService.recordSendfile(count);
+            return;
+        }
+        imageFileService.transfer(file, start, count, response.getOutputStream());
+    }
+
+    // If-Range가 현재 ETag(강한 비교) 또는 수정 시각과 같을 때만 부분 응답
+    private boolean isRangeApplicable(HttpServletRequest request, ImageFile file) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(file.getETag());
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == file.getLastModified() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.core.constella.api.image.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "image_blob")
+// 내용(SHA-256) 기준으로 한 번만 저장되는 이미지 원본, 여러 DiaryImage가 같은 blob을 참조
+public class ImageBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    // 저장 파일명 = hash + extension (예: .png)
+    @Column(nullable = false, length = 10)
+    private String extension;
+
+    private long sizeBytes;
+
+    // 이 blob을 참조하는 DiaryImage 개수 (저장은 끝났지만 아직 글에 연결 중인 업로드 포함)
+    private long refCount;
+
+    private LocalDateTime createdAt;
+}
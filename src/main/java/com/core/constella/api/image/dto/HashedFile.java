@@ -0,0 +1,15 @@
+package com.core.constella.api.image.dto;
+
+import java.nio.file.Path;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+// 복사하면서 SHA-256을 계산한 파일
+public class HashedFile {
+    private Path path;
+    private String sha256;
+    private long sizeBytes;
+}
@@ -0,0 +1,12 @@
+package com.core.constella.api.image.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+// 원본 이미지에서 만든 축소본 URL (원본이 충분히 작으면 원본 URL을 그대로 사용)
+public class ImageVariants {
+    private String thumbnailUrl;
+    private String mediumUrl;
+}
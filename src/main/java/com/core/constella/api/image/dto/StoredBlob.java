@@ -0,0 +1,16 @@
+package com.core.constella.api.image.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+// 업로드 디렉토리에 내용 주소(hash)로 저장된 이미지와 축소본 URL
+public class StoredBlob {
+    private String hash;
+    private String extension;
+    private long sizeBytes;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private String mediumUrl;
+}
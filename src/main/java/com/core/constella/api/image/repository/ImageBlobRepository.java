@@ -0,0 +1,28 @@
+package com.core.constella.api.image.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.core.constella.api.image.domain.ImageBlob;
+
+import jakarta.persistence.LockModeType;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    // 처음 참조되면 행을 만들고, 이미 있으면 참조 수만 증가 (동시 업로드에도 원자적으로 처리)
+    @Modifying
+    @Query(value = "INSERT INTO image_blob (hash, extension, size_bytes, ref_count, created_at) " +
+                   "VALUES (:hash, :extension, :sizeBytes, 1, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    void acquire(@Param("hash") String hash, @Param("extension") String extension, @Param("sizeBytes") long sizeBytes);
+
+    // 참조 해제 시 행을 잠가서, 같은 hash를 저장 중인 다른 업로드(acquire)와 파일 삭제가 겹치지 않게 함
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ImageBlob b WHERE b.hash = :hash")
+    Optional<ImageBlob> findByHashForUpdate(@Param("hash") String hash);
+}
@@ -0,0 +1,193 @@
+package com.core.constella.api.image.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.core.constella.api.image.domain.ImageBlob;
+import com.core.constella.api.image.dto.HashedFile;
+import com.core.constella.api.image.dto.ImageVariants;
+import com.core.constella.api.image.dto.StoredBlob;
+import com.core.constella.api.image.repository.ImageBlobRepository;
+
+/**
+ * 내용 주소(content-addressed) 이미지 저장소
+ * 파일명은 SHA-256 + 확장자라서 같은 사진을 여러 번 올려도 디스크에는 한 번만 저장되고,
+ * 내용이 바뀌면 URL도 바뀌므로 클라이언트가 영구 캐시할 수 있음
+ */
+@Service
+public class ImageBlobService {
+    public static final String IMAGE_URL_PREFIX = "/images/";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final Logger log = LoggerFactory.getLogger(ImageBlobService.class);
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageVariantService imageVariantService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path uploadPath;
+
+    public ImageBlobService(ImageBlobRepository imageBlobRepository,
+                            ImageVariantService imageVariantService,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.upload.dir:./uploads}") String uploadDir) {
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageVariantService = imageVariantService;
+        this.transactionTemplate = transactionTemplate;
+        this.uploadPath = Paths.get(uploadDir);
+    }
+
+    // 고정 크기 버퍼로 스트리밍 복사하면서 SHA-256 계산 (바이트를 한 번만 읽고 힙에 올리지 않음)
+    public HashedFile copyAndHash(InputStream source, Path target) throws IOException {
+        MessageDigest digest = newSha256();
+        long size = 0;
+        try (InputStream in = new DigestInputStream(source, digest);
+             OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        return new HashedFile(target, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    /**
+     * 스테이징 파일을 hash 이름으로 저장하고 참조 수 +1 (이미 같은 내용이 있으면 스테이징 파일만 삭제), 이미지가 아니면 null
+     * 참조 증가와 파일 배치를 한 트랜잭션에서 해서, 행 잠금이 풀리기 전에는 release()가 같은 파일을 지울 수 없음
+     * 커밋 후에는 이 참조가 남아 있으므로 축소본은 잠금 없이 생성
+     */
+    public StoredBlob store(HashedFile staged) throws IOException {
+        String extension = detectExtension(staged.getPath());
+        if (extension == null) {
+            return null;
+        }
+        Files.createDirectories(uploadPath);
+        String fileName = staged.getSha256() + extension;
+        Path target = uploadPath.resolve(fileName);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                imageBlobRepository.acquire(staged.getSha256(), extension, staged.getSizeBytes());
+                try {
+                    place(staged.getPath(), target);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        String imageUrl = IMAGE_URL_PREFIX + fileName;
+        ImageVariants variants;
+        try {
+            variants = imageVariantService.createVariants(target, IMAGE_URL_PREFIX);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to create image variants for {}: {}", fileName, e.getMessage());
+            variants = new ImageVariants(imageUrl, imageUrl);
+        }
+        return new StoredBlob(staged.getSha256(), extension, staged.getSizeBytes(),
+                imageUrl, variants.getThumbnailUrl(), variants.getMediumUrl());
+    }
+
+    // 글에 연결하지 못한 blob의 참조 해제 (참조 수 -1), 0이 되면 행과 원본/축소본 파일을 행 잠금 안에서 삭제
+    @Transactional
+    public void release(StoredBlob blob) {
+        ImageBlob row = imageBlobRepository.findByHashForUpdate(blob.getHash()).orElse(null);
+        if (row == null) {
+            return;
+        }
+        if (row.getRefCount() > 1) {
+            row.setRefCount(row.getRefCount() - 1);
+            return;
+        }
+        imageBlobRepository.delete(row);
+        Set<String> urls = new LinkedHashSet<>(List.of(blob.getImageUrl(), blob.getThumbnailUrl(), blob.getMediumUrl()));
+        for (String url : urls) {
+            if (url == null || !url.startsWith(IMAGE_URL_PREFIX)) {
+                continue;
+            }
+            Path path = uploadPath.resolve(url.substring(IMAGE_URL_PREFIX.length()));
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete unreferenced image {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private void place(Path staged, Path target) throws IOException {
+        if (Files.exists(target)) {
+            Files.deleteIfExists(staged);
+            return;
+        }
+        try {
+            Files.move(staged, target);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용이 동시에 업로드된 경우 먼저 저장된 파일을 사용
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    // 파일 이름이 아니라 실제 내용으로 이미지 포맷을 판별 (같은 내용이면 항상 같은 확장자), 이미지가 아니면 null
+    public String detectExtension(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                return switch (format) {
+                    case "jpeg", "jpg" -> ".jpg";
+                    case "png" -> ".png";
+                    case "gif" -> ".gif";
+                    case "bmp", "wbmp" -> ".bmp";
+                    default -> null;
+                };
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
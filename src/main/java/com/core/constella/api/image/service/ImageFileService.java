@@ -0,0 +1,137 @@
+package com.core.constella.api.image.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.core.constella.global.metrics.MetricsSource;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 업로드 디렉토리의 이미지 파일 조회/전송
+ * hash 이름 파일({sha256}.ext, {sha256}_thumb.jpg, {sha256}_medium.jpg)은 내용이 바뀌지 않으므로
+ * hash를 그대로 ETag로 쓰고 영구 캐시 대상으로 표시함
+ */
+@Service
+public class ImageFileService implements MetricsSource {
+    private static final Pattern CONTENT_NAME = Pattern.compile("^([0-9a-f]{64})(_thumb|_medium)?\\.(jpg|png|gif|bmp)$");
+
+    private final Path uploadPath;
+
+    private final LongAdder fullResponses = new LongAdder();
+    private final LongAdder partialResponses = new LongAdder();
+    private final LongAdder notModifiedResponses = new LongAdder();
+    private final LongAdder sendfileResponses = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+
+    public ImageFileService(@Value("${app.upload.dir:./uploads}") String uploadDir) {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    // 요청 파일명을 업로드 디렉토리 바로 아래 파일로만 해석 (하위 디렉토리, 숨김 파일(.staging 등), 경로 조작 차단)
+    public ImageFile find(String filename) throws IOException {
+        if (filename == null || filename.isEmpty() || filename.startsWith(".")
+                || filename.contains("/") || filename.contains("\\")) {
+            return null;
+        }
+        Path path = uploadPath.resolve(filename).normalize();
+        if (!uploadPath.equals(path.getParent()) || !Files.isRegularFile(path)) {
+            return null;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long length = attributes.size();
+
+        Matcher matcher = CONTENT_NAME.matcher(filename);
+        boolean immutable = matcher.matches();
+        String eTag;
+        if (immutable) {
+            String suffix = matcher.group(2) != null ? matcher.group(2) : "";
+            eTag = "\"" + matcher.group(1) + suffix + "\"";
+        } else {
+            // 기존 UUID 이름 파일은 크기+수정시각 기반 약한 ETag
+            eTag = "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        }
+        return new ImageFile(path, length, lastModified, eTag, immutable);
+    }
+
+    // FileChannel.transferTo로 지정 구간 전송 (커널이 지원하면 유저 영역 복사 없이 전송)
+    public void transfer(ImageFile file, long start, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+            bytesSent.add(count - remaining);
+        }
+        out.flush();
+    }
+
+    public void recordFull() {
+        fullResponses.increment();
+    }
+
+    public void recordPartial() {
+        partialResponses.increment();
+    }
+
+    public void recordNotModified() {
+        notModifiedResponses.increment();
+    }
+
+    // 컨테이너 sendfile로 넘긴 경우 (전송은 Tomcat이 처리)
+    public void recordSendfile(long count) {
+        sendfileResponses.increment();
+        bytesSent.add(count);
+    }
+
+    @Override
+    public String metricsName() {
+        return "imageServing";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("full", fullResponses.sum());
+        snapshot.put("partial", partialResponses.sum());
+        snapshot.put("notModified", notModifiedResponses.sum());
+        snapshot.put("sendfile", sendfileResponses.sum());
+        snapshot.put("bytesSent", bytesSent.sum());
+        return snapshot;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ImageFile {
+        private Path path;
+        private long length;
+        private long lastModified;
+        private String eTag;
+        private boolean immutable;
+    }
+}
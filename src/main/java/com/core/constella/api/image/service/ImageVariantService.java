@@ -0,0 +1,180 @@
+package com.core.constella.api.image.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.UUID;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.stereotype.Service;
+
+import com.core.constella.api.image.dto.ImageVariants;
+
+/**
+ * 업로드 이미지의 축소본(썸네일/중간 크기) 생성
+ * 원본 옆에 {이름}_thumb.jpg, {이름}_medium.jpg 로 저장하고 목록 화면은 축소본을 내려줌
+ */
+@Service
+public class ImageVariantService {
+    public static final int THUMBNAIL_SIZE = 320;
+    public static final int MEDIUM_SIZE = 1024;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    // original: 업로드 디렉토리에 저장된 원본 파일, urlPrefix: "/images/"
+    // 같은 내용의 원본이 이미 저장되어 있었다면 축소본도 이미 있으므로 디코딩 없이 URL만 반환
+    public ImageVariants createVariants(Path original, String urlPrefix) throws IOException {
+        String fileName = original.getFileName().toString();
+        String originalUrl = urlPrefix + fileName;
+        String baseName = stripExtension(fileName);
+        String mediumName = baseName + "_medium.jpg";
+        String thumbnailName = baseName + "_thumb.jpg";
+        Path mediumPath = original.resolveSibling(mediumName);
+        Path thumbnailPath = original.resolveSibling(thumbnailName);
+
+        int longSide = readLongSide(original);
+        if (longSide <= 0) {
+            return new ImageVariants(originalUrl, originalUrl);
+        }
+        boolean needMedium = longSide > MEDIUM_SIZE;
+        boolean needThumbnail = longSide > THUMBNAIL_SIZE;
+        String mediumUrl = needMedium ? urlPrefix + mediumName : originalUrl;
+        String thumbnailUrl = needThumbnail ? urlPrefix + thumbnailName : originalUrl;
+        if ((!needMedium || Files.exists(mediumPath)) && (!needThumbnail || Files.exists(thumbnailPath))) {
+            return new ImageVariants(thumbnailUrl, mediumUrl);
+        }
+
+        BufferedImage medium = readDownsampled(original, MEDIUM_SIZE * 2);
+        if (medium == null) {
+            return new ImageVariants(originalUrl, originalUrl);
+        }
+        if (needMedium) {
+            medium = resize(medium, MEDIUM_SIZE);
+            writeJpeg(medium, mediumPath);
+        }
+        if (needThumbnail) {
+            writeJpeg(resize(medium, THUMBNAIL_SIZE), thumbnailPath);
+        }
+        return new ImageVariants(thumbnailUrl, mediumUrl);
+    }
+
+    // 이미지 헤더만 읽어서 긴 변의 길이 반환 (디코딩 불가하면 -1)
+    private int readLongSide(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null) {
+                return -1;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return -1;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return Math.max(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 큰 원본을 그대로 디코딩하지 않도록 목표 크기 이상이 유지되는 범위에서 서브샘플링하며 읽음
+    private BufferedImage readDownsampled(Path path, int minLongSide) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, longSide / minLongSide);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 긴 변을 maxSide에 맞춰 축소, 한 번에 많이 줄이면 품질이 떨어지므로 절반씩 단계적으로 줄임
+    private BufferedImage resize(BufferedImage source, int maxSide) {
+        double scale = (double) maxSide / Math.max(source.getWidth(), source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = toRgb(source);
+        int width = current.getWidth();
+        int height = current.getHeight();
+        while (width > targetWidth || height > targetHeight) {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    // JPEG는 알파 채널을 저장할 수 없으므로 흰 배경 위에 그려서 RGB로 변환
+    private BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, source.getWidth(), source.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(toRgb(image), null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
@@ -0,0 +1,41 @@
+package com.core.constella.api.map.controller;
+
+import java.util.Collections;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.core.constella.api.map.service.MapClusterService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/map")
+@RequiredArgsConstructor
+public class MapController {
+    private final MapClusterService mapClusterService;
+    private static final Logger log = LoggerFactory.getLogger(MapController.class);
+
+    // 화면 영역 + 줌 레벨의 여행자 클러스터 (개수, 중심점, 많이 간 나라)
+    @GetMapping("/clusters")
+    public ResponseEntity<?> getClusters(@RequestParam double minLat, @RequestParam double minLng,
+                                         @RequestParam double maxLat, @RequestParam double maxLng,
+                                         @RequestParam int zoom) {
+        try {
+            return ResponseEntity.ok(mapClusterService.getClusters(minLat, minLng, maxLat, maxLng, zoom));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to get map clusters: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Collections.singletonMap("message", "지도 클러스터를 가져오는데 실패했습니다: " + e.getMessage()));
+        }
+    }
+}
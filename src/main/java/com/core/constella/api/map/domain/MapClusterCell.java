@@ -0,0 +1,48 @@
+package com.core.constella.api.map.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "map_cluster_cell", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_map_cluster_cell", columnNames = {"cell_precision", "cell", "location_code"})
+})
+// 지도 클러스터용 집계: geohash 정밀도별 셀/나라마다 다이어리 개수와 좌표 합 (중심점 = 합 / 개수)
+public class MapClusterCell {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cell_precision", nullable = false)
+    private int cellPrecision;
+
+    @Column(name = "cell", nullable = false, length = 12)
+    private String cell;
+
+    @Column(name = "location_code", nullable = false)
+    private String locationCode;
+
+    @Column(name = "diary_count", nullable = false)
+    private long diaryCount;
+
+    @Column(name = "lat_sum", nullable = false)
+    private double latSum;
+
+    @Column(name = "lng_sum", nullable = false)
+    private double lngSum;
+}
@@ -0,0 +1,34 @@
+package com.core.constella.api.map.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MapClusterResponse {
+    // 실제로 사용한 geohash 정밀도 (영역이 너무 넓으면 요청 줌보다 낮아질 수 있음)
+    private int precision;
+    private List<Cluster> clusters;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Cluster {
+        private String cell;
+        private long count;
+        private double lat;
+        private double lng;
+        // 다이어리가 많은 나라 순 (최대 TOP_LOCATION_CODES개)
+        private List<String> topLocationCodes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.core.constella.api.map.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.core.constella.api.map.domain.MapClusterCell;
+
+public interface MapClusterCellRepository extends JpaRepository<MapClusterCell, Long> {
+
+    // 화면 영역을 덮는 셀들의 집계 (uk_map_cluster_cell 인덱스로 조회)
+    @Query("SELECT c FROM MapClusterCell c WHERE c.cellPrecision = :precision AND c.cell IN :cells")
+    List<MapClusterCell> findByPrecisionAndCells(@Param("precision") int precision,
+                                                 @Param("cells") Collection<String> cells);
+
+    // 다이어리 1개 추가(delta = 1)/제거(delta = -1): 행이 없으면 만들고 있으면 개수/좌표 합만 갱신
+    @Modifying
+    @Query(value = "INSERT INTO map_cluster_cell (cell_precision, cell, location_code, diary_count, lat_sum, lng_sum) " +
+                   "VALUES (:precision, :cell, :locationCode, :delta, :lat * :delta, :lng * :delta) " +
+                   "ON DUPLICATE KEY UPDATE diary_count = diary_count + VALUES(diary_count), " +
+                   "lat_sum = lat_sum + VALUES(lat_sum), lng_sum = lng_sum + VALUES(lng_sum)",
+           nativeQuery = true)
+    void add(@Param("precision") int precision, @Param("cell") String cell, @Param("locationCode") String locationCode,
+             @Param("delta") int delta, @Param("lat") double lat, @Param("lng") double lng);
+
+    @Modifying
+    @Query("DELETE FROM MapClusterCell c")
+    int deleteAllCells();
+}
@@ -0,0 +1,174 @@
+package com.core.constella.api.map.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.core.constella.api.diary.repository.DiaryRepository;
+import com.core.constella.api.map.domain.MapClusterCell;
+import com.core.constella.api.map.dto.MapClusterResponse;
+import com.core.constella.api.map.repository.MapClusterCellRepository;
+import com.core.constella.global.geo.GeoHash;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+// 전체 여행자 지도용 클러스터 (다이어리 작성 시 정밀도 1~MAX_PRECISION 셀 집계를 함께 갱신, 조회는 화면을 덮는 셀만 읽음)
+public class MapClusterService {
+    public static final int MAX_PRECISION = 5;
+    // 한 번에 조회하는 셀 수 상한, 넘으면 정밀도를 낮춰서 더 큰 셀로 묶음
+    private static final int MAX_CELLS = 1024;
+    private static final int TOP_LOCATION_CODES = 3;
+
+    private final MapClusterCellRepository mapClusterCellRepository;
+    private final DiaryRepository diaryRepository;
+    private static final Logger log = LoggerFactory.getLogger(MapClusterService.class);
+
+    // 줌 레벨 -> geohash 정밀도 (셀 하나가 256px 타일의 절반 정도가 되도록)
+    public static int precisionForZoom(int zoom) {
+        if (zoom <= 2) {
+            return 1;
+        }
+        if (zoom <= 5) {
+            return 2;
+        }
+        if (zoom <= 8) {
+            return 3;
+        }
+        if (zoom <= 11) {
+            return 4;
+        }
+        return MAX_PRECISION;
+    }
+
+    // 다이어리 작성 트랜잭션 안에서 호출 (새 다이어리면 delta = 1)
+    @Transactional
+    public void recordDiary(String locationCode, Double lat, Double lng, int delta) {
+        if (!hasCoordinates(lat, lng)) {
+            return;
+        }
+        for (int precision = 1; precision <= MAX_PRECISION; precision++) {
+            mapClusterCellRepository.add(precision, GeoHash.encode(lat, lng, precision), locationCode, delta, lat, lng);
+        }
+    }
+
+    // 기존 다이어리의 좌표가 바뀌면 이전 셀에서 빼고 새 셀에 더함
+    @Transactional
+    public void moveDiary(String locationCode, Double oldLat, Double oldLng, Double newLat, Double newLng) {
+        if (Objects.equals(oldLat, newLat) && Objects.equals(oldLng, newLng)) {
+            return;
+        }
+        recordDiary(locationCode, oldLat, oldLng, -1);
+        recordDiary(locationCode, newLat, newLng, 1);
+    }
+
+    // 영역(minLng > maxLng면 날짜변경선을 넘는 영역)과 줌 레벨로 클러스터 조회
+    @Transactional(readOnly = true)
+    public MapClusterResponse getClusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        if (minLat < -90 || maxLat > 90 || minLat > maxLat) {
+            throw new IllegalArgumentException("위도 범위가 올바르지 않습니다: " + minLat + " ~ " + maxLat);
+        }
+        if (minLng < -180 || minLng > 180 || maxLng < -180 || maxLng > 180) {
+            throw new IllegalArgumentException("경도 범위가 올바르지 않습니다: " + minLng + " ~ " + maxLng);
+        }
+        if (zoom < 0) {
+            throw new IllegalArgumentException("zoom은 0 이상이어야 합니다: " + zoom);
+        }
+
+        int precision = precisionForZoom(zoom);
+        List<String> cells = GeoHash.covering(minLat, minLng, maxLat, maxLng, precision, MAX_CELLS);
+        while (cells == null && precision > 1) {
+            precision--;
+            cells = GeoHash.covering(minLat, minLng, maxLat, maxLng, precision, MAX_CELLS);
+        }
+
+        // 같은 셀의 나라별 행을 하나의 클러스터로 합침
+        // moveDiary로 비게 된 행(diary_count = 0)은 매일 rebuild에서 지워지므로 그 전까지는 여기서 건너뜀
+        Map<String, List<MapClusterCell>> byCell = new LinkedHashMap<>();
+        for (MapClusterCell row : mapClusterCellRepository.findByPrecisionAndCells(precision, cells)) {
+            if (row.getDiaryCount() > 0) {
+                byCell.computeIfAbsent(row.getCell(), c -> new ArrayList<>()).add(row);
+            }
+        }
+        List<MapClusterResponse.Cluster> clusters = new ArrayList<>(byCell.size());
+        for (Map.Entry<String, List<MapClusterCell>> entry : byCell.entrySet()) {
+            List<MapClusterCell> rows = entry.getValue();
+            long count = 0;
+            double latSum = 0;
+            double lngSum = 0;
+            for (MapClusterCell row : rows) {
+                count += row.getDiaryCount();
+                latSum += row.getLatSum();
+                lngSum += row.getLngSum();
+            }
+            rows.sort(Comparator.comparingLong(MapClusterCell::getDiaryCount).reversed()
+                    .thenComparing(MapClusterCell::getLocationCode));
+            clusters.add(MapClusterResponse.Cluster.builder()
+                    .cell(entry.getKey())
+                    .count(count)
+                    .lat(latSum / count)
+                    .lng(lngSum / count)
+                    .topLocationCodes(rows.stream()
+                            .limit(TOP_LOCATION_CODES)
+                            .map(MapClusterCell::getLocationCode)
+                            .toList())
+                    .build());
+        }
+        clusters.sort(Comparator.comparingLong(MapClusterResponse.Cluster::getCount).reversed());
+        return MapClusterResponse.builder()
+                .precision(precision)
+                .clusters(clusters)
+                .build();
+    }
+
+    // 원본 diary 테이블로 전체 집계를 다시 만듦 (시작 시 좌표 일괄 갱신 후, 매일 한 번)
+    // 먼저 전체 삭제로 행을 잠근 뒤 읽으므로, 그 사이 작성된 다이어리의 증가는 재계산이 끝난 뒤 반영됨
+    @Scheduled(cron = "${app.map.rebuild-cron:0 45 4 * * *}")
+    @Transactional
+    public void rebuild() {
+        mapClusterCellRepository.deleteAllCells();
+        Map<String, MapClusterCell> cells = new HashMap<>();
+        long diaries = 0;
+        for (Object[] row : diaryRepository.countDiariesByLocationAndCoordinates()) {
+            String locationCode = (String) row[0];
+            Double lat = (Double) row[1];
+            Double lng = (Double) row[2];
+            long count = ((Number) row[3]).longValue();
+            if (locationCode == null || !hasCoordinates(lat, lng)) {
+                continue;
+            }
+            diaries += count;
+            for (int precision = 1; precision <= MAX_PRECISION; precision++) {
+                String cell = GeoHash.encode(lat, lng, precision);
+                int p = precision;
+                MapClusterCell aggregate = cells.computeIfAbsent(p + ":" + cell + ":" + locationCode,
+                        k -> MapClusterCell.builder()
+                                .cellPrecision(p)
+                                .cell(cell)
+                                .locationCode(locationCode)
+                                .build());
+                aggregate.setDiaryCount(aggregate.getDiaryCount() + count);
+                aggregate.setLatSum(aggregate.getLatSum() + lat * count);
+                aggregate.setLngSum(aggregate.getLngSum() + lng * count);
+            }
+        }
+        mapClusterCellRepository.saveAll(cells.values());
+        log.info("Rebuilt map clusters: {} diaries, {} cells", diaries, cells.size());
+    }
+
+    // 좌표가 없거나 (0, 0)인 다이어리는 지도에 표시하지 않음
+    private boolean hasCoordinates(Double lat, Double lng) {
+        return lat != null && lng != null && !(lat == 0.0 && lng == 0.0);
+    }
+}
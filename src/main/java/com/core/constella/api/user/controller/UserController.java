@@ -1,20 +1,28 @@
 package com.core.constella.api.user.controller;
 
 import java.util.Collections;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.core.constella.api.user.dto.LoginRequest;
 import com.core.constella.api.user.dto.LoginResponse;
 import com.core.constella.api.user.dto.RegisterRequest;
 import com.core.constella.api.user.dto.RegisterResponse;
+import com.core.constella.api.user.dto.SimilarTravelerResponse;
+import com.core.constella.api.user.repository.UserRepository;
+import com.core.constella.api.user.service.SimilarTravelerService;
 import com.core.constella.api.user.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -25,6 +33,8 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 
     private final UserService userService;
+    private final SimilarTravelerService similarTravelerService;
+    private final UserRepository userRepository;
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
 
     @PostMapping("/register")
@@ -58,4 +68,26 @@ public class UserController {
                 .body(Collections.singletonMap("message", "로그인 중 예상치 못한 오류가 발생했습니다."));
         }
     }
+
+    // 다녀온 나라 집합이 비슷한 여행자 (MinHash/LSH 추정 유사도 순)
+    @GetMapping("/{userId}/similar")
+    public ResponseEntity<?> getSimilarTravelers(@PathVariable Long userId,
+                                                 @RequestParam(defaultValue = "10") int limit) {
+        if (!userRepository.existsById(userId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Collections.singletonMap("message", "사용자를 찾을 수 없습니다: " + userId));
+        }
+        try {
+            List<SimilarTravelerResponse> response = similarTravelerService.findSimilar(userId, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            // 서버 시작 직후 인덱스 로딩 중
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Collections.singletonMap("message", e.getMessage()));
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.core.constella.api.user.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "user_minhash")
+// 사용자가 다녀온 나라 집합의 MinHash 서명 (비슷한 여행자 검색용, 서버 시작 시 메모리 LSH 인덱스로 로딩)
+public class UserMinHash {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // MinHash.NUM_HASHES개 int (big-endian)
+    @Column(name = "signature", nullable = false, length = 256)
+    private byte[] signature;
+
+    @Column(name = "country_count", nullable = false)
+    private int countryCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.core.constella.api.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimilarTravelerResponse {
+    private Long userId;
+    private String username;
+    // 다녀온 나라 집합의 Jaccard 유사도 추정값 (0~1)
+    private double similarity;
+}
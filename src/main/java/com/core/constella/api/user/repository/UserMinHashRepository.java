@@ -0,0 +1,8 @@
+package com.core.constella.api.user.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.core.constella.api.user.domain.UserMinHash;
+
+public interface UserMinHashRepository extends JpaRepository<UserMinHash, Long> {
+}
@@ -0,0 +1,199 @@
+package com.core.constella.api.user.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.core.constella.api.diary.repository.DiaryRepository;
+import com.core.constella.api.user.domain.User;
+import com.core.constella.api.user.domain.UserMinHash;
+import com.core.constella.api.user.dto.SimilarTravelerResponse;
+import com.core.constella.api.user.repository.UserMinHashRepository;
+import com.core.constella.api.user.repository.UserRepository;
+import com.core.constella.global.metrics.LatencyRecorder;
+import com.core.constella.global.metrics.MetricsSource;
+import com.core.constella.global.similarity.LshIndex;
+import com.core.constella.global.similarity.MinHash;
+
+/**
+ * 다녀온 나라 집합이 비슷한 여행자 검색
+ * 사용자별 MinHash 서명을 user_minhash에 저장하고, 조회는 메모리 LSH 인덱스에서 같은 밴드 버킷 후보만 비교
+ * (모든 사용자와 비교하지 않으므로 사용자 수가 늘어도 조회 비용은 후보 수에 비례)
+ */
+@Service
+public class SimilarTravelerService implements MetricsSource {
+    public static final int MAX_LIMIT = 50;
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private final UserMinHashRepository userMinHashRepository;
+    private final DiaryRepository diaryRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LshIndex index;
+    // 시작 시 loadIndex()는 웹 서버가 요청을 받기 시작한 뒤에 실행되므로, 끝나기 전에는 조회를 거절해서 빈 결과로 오해하지 않게 함
+    private volatile boolean ready;
+
+    private final LatencyRecorder queryLatency = new LatencyRecorder();
+    private final LongAdder signatureUpdates = new LongAdder();
+    private static final Logger log = LoggerFactory.getLogger(SimilarTravelerService.class);
+
+    public SimilarTravelerService(UserMinHashRepository userMinHashRepository,
+                                  DiaryRepository diaryRepository,
+                                  UserRepository userRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${app.similar-travelers.max-candidates:5000}") int maxCandidates) {
+        this.userMinHashRepository = userMinHashRepository;
+        this.diaryRepository = diaryRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.index = new LshIndex(maxCandidates);
+    }
+
+    /**
+     * 서버 시작 시 저장된 서명을 인덱스로 로딩하고, 서명이 없는 사용자(기능 추가 전 데이터)는 묶음별 트랜잭션으로 계산해서 저장
+     * 인덱스에는 커밋된 묶음마다 바로 넣고, 모두 끝난 뒤에 조회를 열어서 로딩 중인 사용자가 빈 결과를 받지 않게 함
+     */
+    public void loadIndex() {
+        Set<Long> loaded = new HashSet<>();
+        for (UserMinHash row : userMinHashRepository.findAll()) {
+            index.put(row.getUserId(), MinHash.fromBytes(row.getSignature()));
+            loaded.add(row.getUserId());
+        }
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : diaryRepository.findDistinctUserIds()) {
+            if (!loaded.contains(userId)) {
+                missing.add(userId);
+            }
+        }
+        int computedCount = 0;
+        for (int from = 0; from < missing.size(); from += BACKFILL_CHUNK_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + BACKFILL_CHUNK_SIZE, missing.size()));
+            Map<Long, int[]> computed = transactionTemplate.execute(status -> {
+                Map<Long, int[]> signatures = new HashMap<>();
+                for (Long userId : chunk) {
+                    int[] signature = saveSignature(userId);
+                    if (signature != null) {
+                        signatures.put(userId, signature);
+                    }
+                }
+                return signatures;
+            });
+            if (computed != null) {
+                computed.forEach(index::put);
+                computedCount += computed.size();
+            }
+        }
+        ready = true;
+        log.info("Loaded similar-traveler index: {} stored signatures, {} computed", loaded.size(), computedCount);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 다이어리 작성 트랜잭션에서 새 나라가 추가됐을 때 호출, 인덱스는 커밋 이후에 갱신
+    @Transactional
+    public void updateSignature(Long userId) {
+        int[] signature = saveSignature(userId);
+        if (signature != null) {
+            runAfterCommit(() -> index.put(userId, signature));
+        }
+    }
+
+    // 나라 집합으로 서명을 계산해서 저장 (다이어리가 없으면 null), 호출하는 쪽 트랜잭션 안에서 실행
+    private int[] saveSignature(Long userId) {
+        List<String> codes = diaryRepository.findDistinctLocationCodesByUserId(userId);
+        if (codes.isEmpty()) {
+            return null;
+        }
+        int[] signature = MinHash.signature(codes);
+        userMinHashRepository.save(UserMinHash.builder()
+                .userId(userId)
+                .signature(MinHash.toBytes(signature))
+                .countryCount(codes.size())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        signatureUpdates.increment();
+        return signature;
+    }
+
+    // 비슷한 여행자 상위 limit명 (다이어리가 없는 사용자는 빈 목록, 인덱스 로딩 전에는 IllegalStateException)
+    @Transactional(readOnly = true)
+    public List<SimilarTravelerResponse> findSimilar(Long userId, int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit은 1에서 " + MAX_LIMIT + " 사이여야 합니다: " + limit);
+        }
+        if (!ready) {
+            throw new IllegalStateException("비슷한 여행자 인덱스를 준비하고 있습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        int[] signature = index.get(userId);
+        if (signature == null) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        List<LshIndex.Match> matches = index.query(signature, limit, userId);
+        queryLatency.recordSince(start);
+
+        Map<Long, User> users = userRepository.findAllById(matches.stream().map(LshIndex.Match::id).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<SimilarTravelerResponse> result = new ArrayList<>(matches.size());
+        for (LshIndex.Match match : matches) {
+            User user = users.get(match.id());
+            if (user == null) {
+                continue;
+            }
+            result.add(SimilarTravelerResponse.builder()
+                    .userId(user.getId())
+                    .username(user.getUsername())
+                    .similarity(match.similarity())
+                    .build());
+        }
+        return result;
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "similarTravelers";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("ready", ready);
+        snapshot.put("indexedUsers", index.size());
+        snapshot.put("query", queryLatency.snapshot());
+        snapshot.put("signatureUpdates", signatureUpdates.sum());
+        return snapshot;
+    }
+}
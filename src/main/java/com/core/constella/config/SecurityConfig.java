@@ -41,6 +41,8 @@ public class SecurityConfig {
         config.setAllowedOrigins(List.of("http://localhost:3000"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        // 목록 엔드포인트의 다음 페이지 커서를 브라우저에서 읽을 수 있도록 노출
+        config.setExposedHeaders(List.of("X-Next-Cursor"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/api/**", config);
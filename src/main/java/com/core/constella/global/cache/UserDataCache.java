@@ -0,0 +1,136 @@
+package com.core.constella.global.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.core.constella.global.metrics.MetricsSource;
+
+/**
+ * 사용자별 조회 결과 캐시 (userId + 사용자 데이터 버전을 키로 사용)
+ * 쓰기 쪽에서 invalidate 하면 버전이 올라가서 이전 버전 항목은 다시 조회되지 않고 LRU/TTL로 정리됨
+ */
+@Component
+public class UserDataCache implements MetricsSource {
+
+    private record Key(String region, Long userId, long version) {}
+
+    private record CachedValue(Object value, long expiresAtNanos) {}
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    // 좌표 일괄 갱신처럼 모든 사용자에게 영향을 주는 변경용 전역 버전
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final LinkedHashMap<Key, CachedValue> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserDataCache(@Value("${app.cache.user-data.max-entries:10000}") int maxEntries,
+                         @Value("${app.cache.user-data.ttl:10m}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        // access-order LinkedHashMap: 최대 개수를 넘으면 가장 오래 안 쓰인 항목부터 제거
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedValue> eldest) {
+                if (size() > UserDataCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // 캐시에 있으면 반환하고, 없으면 loader 결과를 저장 후 반환
+    @SuppressWarnings("unchecked")
+    public <T> T get(String region, Long userId, Supplier<T> loader) {
+        Key key = new Key(region, userId, currentVersion(userId));
+        long now = System.nanoTime();
+        synchronized (entries) {
+            CachedValue entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtNanos() - now > 0) {
+                    hits.increment();
+                    return (T) entry.value();
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        T value = loader.get();
+        synchronized (entries) {
+            entries.put(key, new CachedValue(value, now + ttlNanos));
+        }
+        return value;
+    }
+
+    // 사용자 데이터가 바뀌었을 때 호출, 트랜잭션 안이면 커밋 이후에 버전을 올림
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        runAfterCommit(() -> versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet());
+    }
+
+    // 모든 사용자의 캐시 무효화
+    public void invalidateAll() {
+        runAfterCommit(globalVersion::incrementAndGet);
+    }
+
+    private long currentVersion(Long userId) {
+        AtomicLong version = versions.get(userId);
+        // 전역 버전은 상위 32비트, 사용자 버전은 하위 32비트에 담아서 하나의 키로 비교
+        return (globalVersion.get() << 32) + (version != null ? version.get() : 0L);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "userDataCache";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("size", size);
+        snapshot.put("maxEntries", maxEntries);
+        snapshot.put("hits", hitCount);
+        snapshot.put("misses", missCount);
+        snapshot.put("evictions", evictions.sum());
+        snapshot.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return snapshot;
+    }
+}
@@ -0,0 +1,192 @@
+package com.core.constella.global.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * geohash (base32) 인코딩/셀 범위 계산
+ * 같은 접두어를 가진 hash는 같은 상위 셀 안에 있으므로, 정밀도별 셀을 그대로 계층형 격자로 쓸 수 있음
+ */
+public final class GeoHash {
+    public static final int MAX_PRECISION = 12;
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            DECODE[BASE32[i]] = i;
+        }
+    }
+
+    private GeoHash() {
+    }
+
+    public static String encode(double lat, double lng, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between 1 and " + MAX_PRECISION + ": " + precision);
+        }
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lngBit = true;
+        int bits = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (lngBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (lng >= mid) {
+                    value = (value << 1) | 1;
+                    minLng = mid;
+                } else {
+                    value <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    value = (value << 1) | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lngBit = !lngBit;
+            if (++bits == 5) {
+                hash.append(BASE32[value]);
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // 셀 범위 [minLat, minLng, maxLat, maxLng]
+    public static double[] bounds(String hash) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        boolean lngBit = true;
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            int value = c < 128 ? DECODE[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + hash);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = ((value >> bit) & 1) == 1;
+                if (lngBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if (set) {
+                        minLng = mid;
+                    } else {
+                        maxLng = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                lngBit = !lngBit;
+            }
+        }
+        return new double[] {minLat, minLng, maxLat, maxLng};
+    }
+
+    // 정밀도별 셀 크기 [위도 폭, 경도 폭] (도)
+    public static double[] cellSize(int precision) {
+        int totalBits = precision * 5;
+        int lngBits = (totalBits + 1) / 2;
+        int latBits = totalBits / 2;
+        return new double[] {180.0 / (1L << latBits), 360.0 / (1L << lngBits)};
+    }
+
+    /**
+     * 영역(minLng > maxLng면 날짜변경선을 넘는 영역)과 겹치는 precision 셀 목록
+     * 셀이 maxCells개를 넘으면 null (호출하는 쪽에서 정밀도를 낮춰서 다시 계산)
+     */
+    public static List<String> covering(double minLat, double minLng, double maxLat, double maxLng,
+                                        int precision, int maxCells) {
+        if (minLng > maxLng) {
+            List<String> west = covering(minLat, minLng, maxLat, 180, precision, maxCells);
+            if (west == null) {
+                return null;
+            }
+            List<String> east = covering(minLat, -180, maxLat, maxLng, precision, maxCells - west.size());
+            if (east == null) {
+                return null;
+            }
+            west.addAll(east);
+            return west;
+        }
+        double[] size = cellSize(precision);
+        minLat = Math.max(minLat, -90);
+        maxLat = Math.min(maxLat, 90);
+        minLng = Math.max(minLng, -180);
+        maxLng = Math.min(maxLng, 180);
+        // 셀 경계에 맞춰 행/열 인덱스 범위 계산 (최댓값이 경계와 같으면 바깥 셀 제외, 단 +90/+180은 마지막 셀)
+        long rows = Math.round(180 / size[0]);
+        long cols = Math.round(360 / size[1]);
+        long rowFrom = Math.min((long) Math.floor((minLat + 90) / size[0]), rows - 1);
+        long rowTo = Math.min((long) Math.ceil((maxLat + 90) / size[0]) - 1, rows - 1);
+        long colFrom = Math.min((long) Math.floor((minLng + 180) / size[1]), cols - 1);
+        long colTo = Math.min((long) Math.ceil((maxLng + 180) / size[1]) - 1, cols - 1);
+        rowTo = Math.max(rowTo, rowFrom);
+        colTo = Math.max(colTo, colFrom);
+        if ((rowTo - rowFrom + 1) * (colTo - colFrom + 1) > maxCells) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>();
+        for (long row = rowFrom; row <= rowTo; row++) {
+            double lat = -90 + (row + 0.5) * size[0];
+            for (long col = colFrom; col <= colTo; col++) {
+                cells.add(encode(lat, -180 + (col + 0.5) * size[1], precision));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * 셀 목록을 geohash 문자열 범위 [시작, 끝)로 변환 (정렬 후 이웃한 셀은 하나의 범위로 합침)
+     * 어떤 셀을 접두어로 가진 hash는 모두 [셀, 다음 셀) 안에 있으므로 인덱스 범위 조회에 그대로 쓸 수 있음
+     */
+    public static List<String[]> ranges(List<String> cells) {
+        List<String> sorted = new ArrayList<>(cells);
+        sorted.sort(null);
+        List<String[]> ranges = new ArrayList<>();
+        String start = null;
+        String end = null;
+        for (String cell : sorted) {
+            if (start != null && cell.equals(end)) {
+                end = successor(cell);
+                continue;
+            }
+            if (start != null) {
+                ranges.add(new String[] {start, end});
+            }
+            start = cell;
+            end = successor(cell);
+        }
+        if (start != null) {
+            ranges.add(new String[] {start, end});
+        }
+        return ranges;
+    }
+
+    // 같은 접두어를 가진 모든 hash보다 큰 가장 작은 문자열 (마지막 셀이면 모든 hash보다 큰 값)
+    public static String successor(String cell) {
+        char[] chars = cell.toCharArray();
+        for (int i = chars.length - 1; i >= 0; i--) {
+            int value = DECODE[chars[i]];
+            if (value < BASE32.length - 1) {
+                chars[i] = BASE32[value + 1];
+                return new String(chars, 0, i + 1);
+            }
+        }
+        return "z".repeat(MAX_PRECISION + 1);
+    }
+}
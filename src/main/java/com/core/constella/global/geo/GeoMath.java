@@ -0,0 +1,63 @@
+package com.core.constella.global.geo;
+
+/**
+ * 구면 거리 계산 유틸
+ * 위도/경도 차이의 제곱은 날짜변경선(경도 ±180) 근처와 고위도에서 거리가 크게 틀어지므로
+ * 단위 벡터(3차원) 사이의 현(chord) 길이/중심각으로 비교함
+ */
+public final class GeoMath {
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoMath() {
+    }
+
+    // 위도/경도(도)를 지구 중심 기준 단위 벡터 {x, y, z}로 변환
+    public static double[] toUnitVector(double lat, double lng) {
+        double phi = Math.toRadians(lat);
+        double lambda = Math.toRadians(lng);
+        double cosPhi = Math.cos(phi);
+        return new double[] {cosPhi * Math.cos(lambda), cosPhi * Math.sin(lambda), Math.sin(phi)};
+    }
+
+    // 두 단위 벡터 사이 현 길이의 제곱 (중심각과 단조 증가 관계라서 최근접 비교에는 이것만으로 충분)
+    public static double chordSquared(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    // 두 단위 벡터 사이 중심각(라디안), 경로 길이 합산용
+    public static double centralAngle(double[] a, double[] b) {
+        double chord = Math.sqrt(chordSquared(a, b));
+        return 2 * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    // 모든 점 쌍의 중심각(라디안)을 n * n 1차원 배열로 반환 ([i * n + j])
+    public static double[] centralAngleMatrix(double[] lats, double[] lngs) {
+        int n = lats.length;
+        double[][] vectors = new double[n][];
+        for (int i = 0; i < n; i++) {
+            vectors[i] = toUnitVector(lats[i], lngs[i]);
+        }
+        double[] matrix = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double angle = centralAngle(vectors[i], vectors[j]);
+                matrix[i * n + j] = angle;
+                matrix[j * n + i] = angle;
+            }
+        }
+        return matrix;
+    }
+
+    // 위도/경도(도) 두 점 사이 대권 거리(km)
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dPhi = Math.toRadians(lat2 - lat1);
+        double dLambda = Math.toRadians(lng2 - lng1);
+        double h = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+}
@@ -0,0 +1,77 @@
+package com.core.constella.global.geo;
+
+import java.util.Arrays;
+
+/**
+ * Held-Karp 비트마스크 DP로 최단 열린 경로(시작/끝 자유) 계산
+ * 상태 수 2^n * n 이므로 점이 적을 때(기본 15개 이하)만 사용, 박싱 없이 1차원 원시 배열만 사용
+ */
+public final class HeldKarp {
+    // 2^18 * 18 * 8바이트 = 약 38MB를 넘지 않도록 상한
+    public static final int MAX_POINTS = 18;
+
+    private HeldKarp() {
+    }
+
+    // distances[i * n + j]: i -> j 거리 (대칭)
+    public static int[] shortestOpenPath(double[] distances, int n) {
+        if (n > MAX_POINTS) {
+            throw new IllegalArgumentException("Held-Karp supports at most " + MAX_POINTS + " points: " + n);
+        }
+        if (n <= 2) {
+            int[] path = new int[n];
+            for (int i = 0; i < n; i++) {
+                path[i] = i;
+            }
+            return path;
+        }
+        int states = 1 << n;
+        // cost[mask * n + last]: mask의 점들을 모두 방문하고 last에서 끝나는 최소 경로 길이
+        double[] cost = new double[states * n];
+        byte[] previous = new byte[states * n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < n; i++) {
+            cost[(1 << i) * n + i] = 0;
+            previous[(1 << i) * n + i] = -1;
+        }
+
+        for (int mask = 1; mask < states; mask++) {
+            int base = mask * n;
+            for (int last = 0; last < n; last++) {
+                double current = cost[base + last];
+                if (current == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int row = last * n;
+                int unvisited = ~mask & (states - 1);
+                while (unvisited != 0) {
+                    int next = Integer.numberOfTrailingZeros(unvisited);
+                    unvisited &= unvisited - 1;
+                    int target = (mask | (1 << next)) * n + next;
+                    double candidate = current + distances[row + next];
+                    if (candidate < cost[target]) {
+                        cost[target] = candidate;
+                        previous[target] = (byte) last;
+                    }
+                }
+            }
+        }
+
+        int full = states - 1;
+        int last = 0;
+        for (int i = 1; i < n; i++) {
+            if (cost[full * n + i] < cost[full * n + last]) {
+                last = i;
+            }
+        }
+        int[] path = new int[n];
+        int mask = full;
+        for (int position = n - 1; position >= 0; position--) {
+            path[position] = last;
+            int before = previous[mask * n + last];
+            mask &= ~(1 << last);
+            last = before;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,190 @@
+package com.core.constella.global.geo;
+
+/**
+ * 구면 위 점들을 한 줄(열린 경로)로 잇는 순서 계산
+ * 1) k-d 트리 최근접 이웃으로 초기 경로 생성 (O(n log n) 수준)
+ * 2) 시간 예산 안에서 2-opt(구간 뒤집기)와 Or-opt(1~3개 구간 이동)로 더 이상 줄지 않을 때까지 개선
+ *    (양 끝 점도 옮길 수 있으므로 Held-Karp와 마찬가지로 시작/끝이 자유로운 열린 경로)
+ * 거리는 단위 벡터 사이 중심각(라디안)을 사용
+ */
+public final class PathOptimizer {
+    private static final int MAX_OR_OPT_SEGMENT = 3;
+    private static final double EPSILON = 1e-12;
+
+    private PathOptimizer() {
+    }
+
+    // 방문 순서(점 인덱스 배열) 반환, seed는 초기 경로의 출발점일 뿐이고 개선 후에는 맨 앞이 아닐 수 있음
+    public static int[] order(double[] lats, double[] lngs, int seed, long timeBudgetNanos) {
+        int n = lats.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        double[][] vectors = new double[n][];
+        for (int i = 0; i < n; i++) {
+            vectors[i] = GeoMath.toUnitVector(lats[i], lngs[i]);
+        }
+        int[] path = nearestNeighborPath(vectors, seed);
+        if (n > 3) {
+            long deadline = System.nanoTime() + timeBudgetNanos;
+            improve(path, vectors, deadline);
+        }
+        return path;
+    }
+
+    // 경로 전체 길이(중심각 합, 라디안)
+    public static double length(int[] path, double[] lats, double[] lngs) {
+        double total = 0;
+        for (int i = 1; i < path.length; i++) {
+            total += GeoMath.centralAngle(GeoMath.toUnitVector(lats[path[i - 1]], lngs[path[i - 1]]),
+                    GeoMath.toUnitVector(lats[path[i]], lngs[path[i]]));
+        }
+        return total;
+    }
+
+    static int[] nearestNeighborPath(double[][] vectors, int start) {
+        int n = vectors.length;
+        UnitVectorKdTree tree = new UnitVectorKdTree(vectors);
+        int[] path = new int[n];
+        int current = start;
+        tree.remove(current);
+        path[0] = current;
+        for (int i = 1; i < n; i++) {
+            current = tree.nearest(vectors[current]);
+            tree.remove(current);
+            path[i] = current;
+        }
+        return path;
+    }
+
+    // 개선이 없거나 시간 예산을 넘을 때까지 2-opt, Or-opt를 번갈아 적용
+    static void improve(int[] path, double[][] vectors, long deadline) {
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = twoOptPass(path, vectors, deadline);
+            improved |= orOptPass(path, vectors, deadline);
+        }
+    }
+
+    // 구간 path[i..j]를 뒤집어서 (i-1,i), (j,j+1) 두 간선을 (i-1,j), (i,j+1)로 교체 (열린 경로라 양 끝 간선은 없을 수 있음)
+    private static boolean twoOptPass(int[] path, double[][] vectors, long deadline) {
+        int n = path.length;
+        boolean improved = false;
+        for (int i = 0; i < n - 1; i++) {
+            if (System.nanoTime() >= deadline) {
+                return improved;
+            }
+            int before = i > 0 ? path[i - 1] : -1;
+            for (int j = i + 1; j < n; j++) {
+                if (i == 0 && j == n - 1) {
+                    continue;
+                }
+                int after = j < n - 1 ? path[j + 1] : -1;
+                double removed = distance(vectors, before, path[i]) + distance(vectors, path[j], after);
+                double added = distance(vectors, before, path[j]) + distance(vectors, path[i], after);
+                if (added < removed - EPSILON) {
+                    reverse(path, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    // 길이 1~3의 구간을 떼어서 다른 간선 사이(또는 경로 양 끝)에 정방향/역방향으로 끼워 넣기
+    private static boolean orOptPass(int[] path, double[][] vectors, long deadline) {
+        int n = path.length;
+        boolean improved = false;
+        for (int length = 1; length <= MAX_OR_OPT_SEGMENT && length < n; length++) {
+            for (int i = 0; i + length <= n; i++) {
+                if (System.nanoTime() >= deadline) {
+                    return improved;
+                }
+                int end = i + length - 1;
+                int first = path[i];
+                int last = path[end];
+                int before = i > 0 ? path[i - 1] : -1;
+                int after = end < n - 1 ? path[end + 1] : -1;
+                double gain = distance(vectors, before, first) + distance(vectors, last, after)
+                        - distance(vectors, before, after);
+                if (gain <= EPSILON) {
+                    continue;
+                }
+
+                // 삽입 위치 k: path[k]와 path[k+1] 사이 (k = -1이면 맨 앞, k = n-1이면 맨 뒤)
+                int bestK = Integer.MIN_VALUE;
+                boolean bestReversed = false;
+                double bestDelta = -EPSILON;
+                for (int k = -1; k < n; k++) {
+                    if (k >= i - 1 && k <= end) {
+                        continue;
+                    }
+                    int left = k >= 0 ? path[k] : -1;
+                    int right = k + 1 < n ? path[k + 1] : -1;
+                    double edge = distance(vectors, left, right);
+                    double forward = distance(vectors, left, first) + distance(vectors, last, right) - edge - gain;
+                    double backward = distance(vectors, left, last) + distance(vectors, first, right) - edge - gain;
+                    if (forward < bestDelta) {
+                        bestDelta = forward;
+                        bestK = k;
+                        bestReversed = false;
+                    }
+                    if (backward < bestDelta) {
+                        bestDelta = backward;
+                        bestK = k;
+                        bestReversed = true;
+                    }
+                }
+                if (bestK != Integer.MIN_VALUE) {
+                    moveSegment(path, i, length, bestK, bestReversed);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    // path[i..i+length-1]을 떼어서 원래 인덱스 기준 k 위치 뒤로 옮김
+    private static void moveSegment(int[] path, int i, int length, int k, boolean reversed) {
+        int n = path.length;
+        int[] segment = new int[length];
+        for (int s = 0; s < length; s++) {
+            segment[s] = reversed ? path[i + length - 1 - s] : path[i + s];
+        }
+        int[] result = new int[n];
+        int w = 0;
+        if (k == -1) {
+            for (int s = 0; s < length; s++) {
+                result[w++] = segment[s];
+            }
+        }
+        for (int r = 0; r < n; r++) {
+            if (r >= i && r < i + length) {
+                continue;
+            }
+            result[w++] = path[r];
+            if (r == k) {
+                for (int s = 0; s < length; s++) {
+                    result[w++] = segment[s];
+                }
+            }
+        }
+        System.arraycopy(result, 0, path, 0, n);
+    }
+
+    private static void reverse(int[] path, int i, int j) {
+        while (i < j) {
+            int tmp = path[i];
+            path[i++] = path[j];
+            path[j--] = tmp;
+        }
+    }
+
+    // -1은 경로 밖(없는 간선)이므로 거리 0
+    private static double distance(double[][] vectors, int a, int b) {
+        if (a < 0 || b < 0) {
+            return 0;
+        }
+        return GeoMath.centralAngle(vectors[a], vectors[b]);
+    }
+}
@@ -0,0 +1,149 @@
+package com.core.constella.global.geo;
+
+/**
+ * 3차원 단위 벡터용 k-d 트리 (최근접 이웃 탐색 + 점 제거)
+ * 배열 기반 암시적 트리: 구간 [lo, hi)의 중앙 위치가 노드이고, 노드마다 하위 트리의 남은 점 개수를 저장해서
+ * 이미 방문한(제거된) 점만 남은 가지는 탐색하지 않음
+ */
+public class UnitVectorKdTree {
+    private final double[][] points;
+    // 트리 위치 -> 점 인덱스
+    private final int[] order;
+    // 점 인덱스 -> 트리 위치
+    private final int[] positionOf;
+    // 트리 위치(노드) -> 하위 트리에 남은 점 개수
+    private final int[] aliveCount;
+    private final boolean[] alive;
+
+    private int bestIndex;
+    private double bestDistance;
+
+    public UnitVectorKdTree(double[][] points) {
+        int n = points.length;
+        this.points = points;
+        this.order = new int[n];
+        this.positionOf = new int[n];
+        this.aliveCount = new int[n];
+        this.alive = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            alive[i] = true;
+        }
+        build(0, n, 0);
+        for (int pos = 0; pos < n; pos++) {
+            positionOf[order[pos]] = pos;
+        }
+    }
+
+    public int size() {
+        return aliveCount.length == 0 ? 0 : aliveCount[root()];
+    }
+
+    // 점을 제거하고 루트에서 해당 위치까지의 노드 개수를 줄임
+    public void remove(int index) {
+        if (!alive[index]) {
+            return;
+        }
+        alive[index] = false;
+        int target = positionOf[index];
+        int lo = 0;
+        int hi = order.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            aliveCount[mid]--;
+            if (mid == target) {
+                return;
+            }
+            if (target < mid) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+    }
+
+    // 남아 있는 점 중 query와 가장 가까운 점의 인덱스 (없으면 -1)
+    public int nearest(double[] query) {
+        bestIndex = -1;
+        bestDistance = Double.POSITIVE_INFINITY;
+        search(query, 0, order.length, 0);
+        return bestIndex;
+    }
+
+    private int root() {
+        return order.length >>> 1;
+    }
+
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 0) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, depth % 3);
+        aliveCount[mid] = hi - lo;
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    private void search(double[] query, int lo, int hi, int depth) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (aliveCount[mid] == 0) {
+            return;
+        }
+        int index = order[mid];
+        if (alive[index]) {
+            double d = GeoMath.chordSquared(query, points[index]);
+            if (d < bestDistance) {
+                bestDistance = d;
+                bestIndex = index;
+            }
+        }
+        int axis = depth % 3;
+        double diff = query[axis] - points[index][axis];
+        if (diff < 0) {
+            search(query, lo, mid, depth + 1);
+            if (diff * diff < bestDistance) {
+                search(query, mid + 1, hi, depth + 1);
+            }
+        } else {
+            search(query, mid + 1, hi, depth + 1);
+            if (diff * diff < bestDistance) {
+                search(query, lo, mid, depth + 1);
+            }
+        }
+    }
+
+    // quickselect: order[lo..hi]에서 k번째 위치에 축 기준 중앙값이 오도록 부분 정렬
+    private void select(int lo, int hi, int k, int axis) {
+        while (lo < hi) {
+            double pivot = points[order[(lo + hi) >>> 1]][axis];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (points[order[i]][axis] < pivot) {
+                    i++;
+                }
+                while (points[order[j]][axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.core.constella.global.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 단계별 처리 시간 누적 (건수, 평균, 최대)
+public class LatencyRecorder {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // startNanos는 System.nanoTime() 값
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public Map<String, Object> snapshot() {
+        long n = count.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", n);
+        snapshot.put("avgMs", n == 0 ? 0.0 : totalNanos.sum() / (double) n / 1_000_000);
+        snapshot.put("maxMs", maxNanos.get() / 1_000_000.0);
+        return snapshot;
+    }
+}
@@ -0,0 +1,27 @@
+package com.core.constella.global.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+    private final List<MetricsSource> metricsSources;
+
+    @GetMapping
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> result = new TreeMap<>();
+        for (MetricsSource source : metricsSources) {
+            result.put(source.metricsName(), source.metricsSnapshot());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,10 @@
+package com.core.constella.global.metrics;
+
+import java.util.Map;
+
+// /api/metrics 에 노출할 내부 지표 제공자 (캐시 적중률, 큐 길이 등)
+public interface MetricsSource {
+    String metricsName();
+
+    Map<String, Object> metricsSnapshot();
+}
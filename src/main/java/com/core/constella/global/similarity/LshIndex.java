@@ -0,0 +1,136 @@
+package com.core.constella.global.similarity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash 서명의 LSH 버킷 인덱스 (메모리)
+ * 조회는 같은 밴드 버킷에 들어 있는 후보만 비교하므로 전체 항목 수가 아니라 후보 수에 비례
+ * 모두가 같은 집합을 가진 경우처럼 버킷이 아주 커지면 maxCandidates개까지만 비교
+ */
+public class LshIndex {
+
+    public record Match(long id, double similarity) {}
+
+    private final int maxCandidates;
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public LshIndex(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    // 서명 추가/교체
+    public void put(long id, int[] signature) {
+        int[] copy = signature.clone();
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            signatures.put(id, copy);
+            for (long key : MinHash.bandKeys(copy)) {
+                buckets.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int[] get(long id) {
+        lock.readLock().lock();
+        try {
+            int[] signature = signatures.get(id);
+            return signature != null ? signature.clone() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 추정 유사도가 높은 순으로 최대 k개 (excludeId는 제외)
+     * 후보가 maxCandidates를 넘으면 작은 버킷부터 읽음: 흔한 나라 조합의 큰 버킷은 등록 순서대로 오래된 사용자만 채우게 되지만,
+     * 작은 버킷은 더 드문 밴드가 겹친 것이라 실제로 비슷한 사용자일 가능성이 높음
+     */
+    public List<Match> query(int[] signature, int k, long excludeId) {
+        PriorityQueue<Match> top = new PriorityQueue<>(
+                Comparator.comparingDouble(Match::similarity).thenComparing(Match::id, Comparator.reverseOrder()));
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> matched = new ArrayList<>();
+            for (long key : MinHash.bandKeys(signature)) {
+                Set<Long> bucket = buckets.get(key);
+                if (bucket != null) {
+                    matched.add(bucket);
+                }
+            }
+            matched.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> seen = new HashSet<>();
+            for (Set<Long> bucket : matched) {
+                for (Long candidate : bucket) {
+                    if (seen.size() >= maxCandidates) {
+                        break;
+                    }
+                    if (candidate == excludeId || !seen.add(candidate)) {
+                        continue;
+                    }
+                    top.add(new Match(candidate, MinHash.estimate(signature, signatures.get(candidate))));
+                    if (top.size() > k) {
+                        top.poll();
+                    }
+                }
+                if (seen.size() >= maxCandidates) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Match> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparing(Match::id));
+        return result;
+    }
+
+    private void removeLocked(long id) {
+        int[] previous = signatures.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (long key : MinHash.bandKeys(previous)) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+}
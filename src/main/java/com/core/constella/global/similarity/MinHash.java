@@ -0,0 +1,115 @@
+package com.core.constella.global.similarity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 문자열 집합의 MinHash 서명 (NUM_HASHES개의 해시 함수별 최솟값)
+ * 두 서명에서 같은 자리 값이 같은 비율이 두 집합의 Jaccard 유사도 추정값
+ * LSH는 서명을 BANDS개 밴드(밴드당 ROWS개)로 나눠, 밴드 하나라도 같으면 후보로 봄
+ * (유사도 s인 두 집합이 후보가 될 확률 1 - (1 - s^ROWS)^BANDS, 32x2 기준 s=0.2면 약 0.73, s=0.3이면 약 0.95)
+ * 나라 집합은 작고 서로 많이 겹치지 않아서 유사도가 낮은 편이라 밴드를 잘게(행 2개) 나눔
+ */
+public final class MinHash {
+    public static final int NUM_HASHES = 64;
+    public static final int BANDS = 32;
+    public static final int ROWS = NUM_HASHES / BANDS;
+
+    // 해시 함수마다 다른 seed (고정값이라 서버를 다시 띄워도 같은 서명)
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private MinHash() {
+    }
+
+    // 빈 집합이면 모든 자리가 Integer.MAX_VALUE
+    public static int[] signature(Collection<String> elements) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String element : elements) {
+            add(signature, element);
+        }
+        return signature;
+    }
+
+    // 원소 하나 추가 (기존 서명을 그대로 갱신)
+    public static void add(int[] signature, String element) {
+        long base = fnv1a(element);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            int value = (int) (mix(base ^ SEEDS[i]) >>> 33);
+            if (value < signature[i]) {
+                signature[i] = value;
+            }
+        }
+    }
+
+    public static double estimate(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / NUM_HASHES;
+    }
+
+    // 밴드별 버킷 키 (밴드 번호를 섞어서 다른 밴드끼리 키가 겹치지 않게 함)
+    public static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = mix(band + 1L);
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key ^ (signature[band * ROWS + row] & 0xFFFFFFFFL));
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        byte[] bytes = new byte[NUM_HASHES * 4];
+        for (int i = 0; i < NUM_HASHES; i++) {
+            bytes[i * 4] = (byte) (signature[i] >>> 24);
+            bytes[i * 4 + 1] = (byte) (signature[i] >>> 16);
+            bytes[i * 4 + 2] = (byte) (signature[i] >>> 8);
+            bytes[i * 4 + 3] = (byte) signature[i];
+        }
+        return bytes;
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes.length != NUM_HASHES * 4) {
+            throw new IllegalArgumentException("MinHash signature must be " + NUM_HASHES * 4 + " bytes: " + bytes.length);
+        }
+        int[] signature = new int[NUM_HASHES];
+        for (int i = 0; i < NUM_HASHES; i++) {
+            signature[i] = ((bytes[i * 4] & 0xFF) << 24) | ((bytes[i * 4 + 1] & 0xFF) << 16)
+                    | ((bytes[i * 4 + 2] & 0xFF) << 8) | (bytes[i * 4 + 3] & 0xFF);
+        }
+        return signature;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
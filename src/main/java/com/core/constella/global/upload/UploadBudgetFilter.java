@@ -0,0 +1,116 @@
+package com.core.constella.global.upload;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.core.constella.global.metrics.MetricsSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 동시에 처리 중인 multipart 업로드 바이트 수 제한
+ * Content-Length 만큼 예산을 잡고 처리하며, 예산을 넘으면 본문을 읽기 전에 429 + Retry-After로 거절
+ * (업로드 폭주 시에도 임시 파일/버퍼에 쌓이는 양이 max-in-flight-bytes 안으로 유지됨)
+ */
+@Component
+public class UploadBudgetFilter extends OncePerRequestFilter implements MetricsSource {
+    private static final Logger log = LoggerFactory.getLogger(UploadBudgetFilter.class);
+
+    private final long maxInFlightBytes;
+    private final long maxRequestBytes;
+    private final long retryAfterSeconds;
+
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final AtomicLong peakInFlightBytes = new AtomicLong();
+    private final LongAdder acceptedRequests = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    public UploadBudgetFilter(@Value("${app.upload.max-in-flight-bytes:64MB}") DataSize maxInFlightBytes,
+                              @Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize maxRequestSize,
+                              @Value("${app.upload.retry-after:2s}") Duration retryAfter) {
+        this.maxInFlightBytes = maxInFlightBytes.toBytes();
+        this.maxRequestBytes = maxRequestSize.toBytes();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType == null || !contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // 길이를 모르는 chunked 요청은 허용되는 최대 크기로 계산, 한 요청이 예산 전체를 넘지는 않도록 제한
+        long contentLength = request.getContentLengthLong();
+        long cost = Math.min(contentLength >= 0 ? contentLength : maxRequestBytes, maxInFlightBytes);
+
+        if (!tryAcquire(cost)) {
+            rejectedRequests.increment();
+            log.warn("Upload rejected, in-flight budget exhausted ({} / {} bytes, request {} bytes)",
+                    inFlightBytes.get(), maxInFlightBytes, cost);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            // 본문을 읽지 않고 응답하므로 커넥션은 재사용하지 않음
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("{\"message\":\"업로드 요청이 많습니다. 잠시 후 다시 시도해주세요.\"}");
+            return;
+        }
+        acceptedRequests.increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlightBytes.addAndGet(-cost);
+        }
+    }
+
+    private boolean tryAcquire(long cost) {
+        while (true) {
+            long current = inFlightBytes.get();
+            long next = current + cost;
+            if (next > maxInFlightBytes) {
+                return false;
+            }
+            if (inFlightBytes.compareAndSet(current, next)) {
+                peakInFlightBytes.accumulateAndGet(next, Math::max);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "uploadBudget";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("inFlightBytes", inFlightBytes.get());
+        snapshot.put("peakInFlightBytes", peakInFlightBytes.get());
+        snapshot.put("maxInFlightBytes", maxInFlightBytes);
+        snapshot.put("accepted", acceptedRequests.sum());
+        snapshot.put("rejected", rejectedRequests.sum());
+        return snapshot;
+    }
+}
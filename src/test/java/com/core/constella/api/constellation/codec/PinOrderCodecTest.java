@@ -0,0 +1,61 @@
+package com.core.constella.api.constellation.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PinOrderCodecTest {
+
+    @Test
+    void codesArePackedIntoTwoBytes() {
+        List<String> pins = List.of("KOR", "JPN", "USA", "ZZZ", "AAA");
+        byte[] data = PinOrderCodec.encode(pins);
+        assertEquals(pins.size() * 2, data.length);
+        assertEquals(pins, PinOrderCodec.decode(data));
+    }
+
+    @Test
+    void otherValuesRoundTrip() {
+        // 이전 방식으로 저장된 한글 이름, 소문자 코드가 섞여 있어도 그대로 복원
+        List<String> pins = List.of("대한민국", "JPN", "kor", "", "US");
+        assertEquals(pins, PinOrderCodec.decode(PinOrderCodec.encode(pins)));
+    }
+
+    @Test
+    void emptyListRoundTrips() {
+        assertEquals(0, PinOrderCodec.encode(List.of()).length);
+        assertTrue(PinOrderCodec.decode(new byte[0]).isEmpty());
+        assertEquals(List.of(), PinOrderCodec.applyDelta(List.of(), PinOrderCodec.encodeDelta(List.of(), List.of())));
+    }
+
+    @Test
+    void deltaKeepsOnlyChangedMiddle() {
+        List<String> previous = List.of("KOR", "JPN", "CHN", "USA", "FRA");
+        List<String> next = List.of("KOR", "JPN", "VNM", "THA", "USA", "FRA");
+        byte[] delta = PinOrderCodec.encodeDelta(previous, next);
+        // 앞 2개, 뒤 2개 길이(각 1바이트) + 가운데 2개 핀
+        assertEquals(2 + 2 * 2, delta.length);
+        assertEquals(next, PinOrderCodec.applyDelta(previous, delta));
+    }
+
+    @Test
+    void deltaHandlesAppendRemoveAndIdentical() {
+        List<String> base = List.of("KOR", "JPN", "CHN");
+        List<List<String>> targets = List.of(
+                List.of("KOR", "JPN", "CHN", "USA"),
+                List.of("JPN", "CHN"),
+                List.of("KOR"),
+                List.of(),
+                List.of("CHN", "JPN", "KOR"),
+                List.of("KOR", "JPN", "CHN"),
+                List.of("KOR", "KOR", "JPN", "CHN"));
+        for (List<String> target : targets) {
+            assertEquals(target, PinOrderCodec.applyDelta(base, PinOrderCodec.encodeDelta(base, target)));
+            assertEquals(base, PinOrderCodec.applyDelta(target, PinOrderCodec.encodeDelta(target, base)));
+        }
+        assertEquals(2, PinOrderCodec.encodeDelta(base, base).length);
+    }
+}
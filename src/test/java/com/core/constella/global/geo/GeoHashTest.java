@@ -0,0 +1,80 @@
+package com.core.constella.global.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class GeoHashTest {
+
+    @Test
+    void encodesKnownPoint() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        // 상위 정밀도는 하위 정밀도의 접두어
+        assertEquals("u4pru", GeoHash.encode(57.64911, 10.40744, 5));
+    }
+
+    @Test
+    void boundsContainEncodedPoint() {
+        double lat = 37.5665;
+        double lng = 126.978;
+        double[] bounds = GeoHash.bounds(GeoHash.encode(lat, lng, 6));
+        assertTrue(bounds[0] <= lat && lat <= bounds[2]);
+        assertTrue(bounds[1] <= lng && lng <= bounds[3]);
+    }
+
+    @Test
+    void coveringContainsEveryPointInBox() {
+        Random random = new Random(7);
+        for (int t = 0; t < 500; t++) {
+            double minLat = -80 + random.nextDouble() * 150;
+            double minLng = -180 + random.nextDouble() * 340;
+            double height = random.nextDouble() * 10;
+            double width = random.nextDouble() * 20;
+            int precision = 1 + random.nextInt(4);
+            Set<String> cells = new HashSet<>(GeoHash.covering(
+                    minLat, minLng, minLat + height, minLng + width, precision, Integer.MAX_VALUE));
+            for (int k = 0; k < 20; k++) {
+                double lat = minLat + random.nextDouble() * height;
+                double lng = minLng + random.nextDouble() * width;
+                assertTrue(cells.contains(GeoHash.encode(lat, lng, precision)));
+            }
+        }
+    }
+
+    @Test
+    void coveringAcrossAntimeridian() {
+        List<String> cells = GeoHash.covering(-20, 170, -10, -170, 2, 100);
+        assertTrue(cells.contains(GeoHash.encode(-15, 179, 2)));
+        assertTrue(cells.contains(GeoHash.encode(-15, -179, 2)));
+        assertEquals(32, GeoHash.covering(-90, -180, 90, 180, 1, 100).size());
+        assertNull(GeoHash.covering(-90, -180, 90, 180, 3, 100));
+    }
+
+    @Test
+    void rangesMatchPrefixMembership() {
+        assertEquals("wydn", GeoHash.successor("wydm"));
+        assertEquals("wye", GeoHash.successor("wydz"));
+        // 전 세계 32개 셀은 하나의 범위로 합쳐짐
+        assertEquals(1, GeoHash.ranges(GeoHash.covering(-90, -180, 90, 180, 1, 100)).size());
+
+        Random random = new Random(11);
+        List<String> cells = GeoHash.covering(30, 120, 40, 130, 3, 1000);
+        Set<String> cellSet = new HashSet<>(cells);
+        List<String[]> ranges = GeoHash.ranges(cells);
+        for (int k = 0; k < 2000; k++) {
+            String hash = GeoHash.encode(-90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360, 9);
+            boolean inRange = false;
+            for (String[] range : ranges) {
+                inRange |= hash.compareTo(range[0]) >= 0 && hash.compareTo(range[1]) < 0;
+            }
+            assertEquals(cellSet.contains(hash.substring(0, 3)), inRange);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.core.constella.global.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PathOptimizerTest {
+
+    @Test
+    void haversineMatchesKnownDistance() {
+        // 서울 - 도쿄 약 1,150km
+        double km = GeoMath.haversineKm(37.5665, 126.9780, 35.6762, 139.6503);
+        assertEquals(1150, km, 15);
+    }
+
+    @Test
+    void pointsAcrossAntimeridianAreNeighbours() {
+        // 피지(178E)와 사모아(172W)는 경도 차이는 크지만 실제로는 가까움
+        double[] lats = {-17.7, 0.0, -13.8};
+        double[] lngs = {178.0, 10.0, -172.0};
+        int[] path = PathOptimizer.order(lats, lngs, 0, 0);
+        assertEquals(0, path[0]);
+        assertEquals(2, path[1]);
+    }
+
+    @Test
+    void kdTreeNearestMatchesBruteForce() {
+        Random random = new Random(42);
+        int n = 500;
+        double[][] vectors = new double[n][];
+        for (int i = 0; i < n; i++) {
+            vectors[i] = GeoMath.toUnitVector(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+        }
+        UnitVectorKdTree tree = new UnitVectorKdTree(vectors);
+        boolean[] removed = new boolean[n];
+        for (int i = 0; i < n; i += 3) {
+            tree.remove(i);
+            removed[i] = true;
+        }
+        for (int q = 0; q < 200; q++) {
+            double[] query = GeoMath.toUnitVector(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+            int expected = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                double d = GeoMath.chordSquared(query, vectors[i]);
+                if (!removed[i] && d < best) {
+                    best = d;
+                    expected = i;
+                }
+            }
+            assertEquals(expected, tree.nearest(query));
+        }
+    }
+
+    @Test
+    void improvedPathIsPermutationAndNotLongerThanNearestNeighbor() {
+        Random random = new Random(7);
+        int n = 300;
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        double[][] vectors = new double[n][];
+        for (int i = 0; i < n; i++) {
+            lats[i] = random.nextDouble() * 140 - 70;
+            lngs[i] = random.nextDouble() * 360 - 180;
+            vectors[i] = GeoMath.toUnitVector(lats[i], lngs[i]);
+        }
+        int[] greedy = PathOptimizer.nearestNeighborPath(vectors, 0);
+        int[] improved = PathOptimizer.order(lats, lngs, 0, 200_000_000L);
+
+        int[] sorted = improved.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, sorted[i]);
+        }
+        assertTrue(PathOptimizer.length(improved, lats, lngs) <= PathOptimizer.length(greedy, lats, lngs) + 1e-9);
+    }
+
+    @Test
+    void heldKarpMatchesBruteForceOnSmallSets() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            int n = 3 + random.nextInt(5);
+            double[] lats = new double[n];
+            double[] lngs = new double[n];
+            for (int i = 0; i < n; i++) {
+                lats[i] = random.nextDouble() * 140 - 70;
+                lngs[i] = random.nextDouble() * 360 - 180;
+            }
+            int[] path = HeldKarp.shortestOpenPath(GeoMath.centralAngleMatrix(lats, lngs), n);
+            int[] identity = new int[n];
+            for (int i = 0; i < n; i++) {
+                identity[i] = i;
+            }
+            double best = bruteForce(identity, 0, lats, lngs);
+            assertEquals(best, PathOptimizer.length(path, lats, lngs), 1e-9);
+        }
+    }
+
+    // 모든 순열을 만들어 최단 열린 경로 길이 계산
+    private static double bruteForce(int[] path, int k, double[] lats, double[] lngs) {
+        if (k == path.length) {
+            return PathOptimizer.length(path, lats, lngs);
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = k; i < path.length; i++) {
+            int tmp = path[k]; path[k] = path[i]; path[i] = tmp;
+            best = Math.min(best, bruteForce(path, k + 1, lats, lngs));
+            tmp = path[k]; path[k] = path[i]; path[i] = tmp;
+        }
+        return best;
+    }
+}
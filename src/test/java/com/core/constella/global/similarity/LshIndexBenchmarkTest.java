@@ -0,0 +1,86 @@
+package com.core.constella.global.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+// ./gradlew test -Pbenchmark 로 실행: 사용자 수별 LSH 조회와 전체 비교(brute force) 시간, 상위 10명 재현율 출력
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LshIndexBenchmarkTest {
+    private static final int COUNTRIES = 200;
+    private static final int QUERIES = 200;
+    private static final int TOP_K = 10;
+
+    @Test
+    void scalesWithUserCount() {
+        Random random = new Random(42);
+        System.out.printf("%8s %12s %12s %8s%n", "users", "lsh(ms)", "brute(ms)", "recall");
+        for (int users : new int[] {1_000, 10_000, 100_000}) {
+            LshIndex index = new LshIndex(5000);
+            List<int[]> signatures = new ArrayList<>(users);
+            for (int user = 0; user < users; user++) {
+                int[] signature = MinHash.signature(randomCountries(random));
+                signatures.add(signature);
+                index.put(user, signature);
+            }
+
+            // 워밍업 후 측정
+            for (int i = 0; i < QUERIES; i++) {
+                index.query(signatures.get(i), TOP_K, i);
+            }
+            long start = System.nanoTime();
+            List<List<LshIndex.Match>> lshResults = new ArrayList<>();
+            for (int i = 0; i < QUERIES; i++) {
+                lshResults.add(index.query(signatures.get(i), TOP_K, i));
+            }
+            double lshMs = (System.nanoTime() - start) / 1e6 / QUERIES;
+
+            start = System.nanoTime();
+            double recallSum = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                double threshold = bruteForceKthSimilarity(signatures, i);
+                long hits = lshResults.get(i).stream().filter(match -> match.similarity() >= threshold).count();
+                recallSum += Math.min(1.0, (double) hits / TOP_K);
+            }
+            double bruteMs = (System.nanoTime() - start) / 1e6 / QUERIES;
+            double recall = recallSum / QUERIES;
+
+            System.out.printf("%8d %12.3f %12.3f %8.2f%n", users, lshMs, bruteMs, recall);
+            assertTrue(recall > 0.5, "recall too low: " + recall);
+        }
+    }
+
+    // 전체 비교로 구한 k번째 유사도 (LSH 결과 중 이 값 이상이면 정답으로 침)
+    private static double bruteForceKthSimilarity(List<int[]> signatures, int query) {
+        PriorityQueue<Double> top = new PriorityQueue<>();
+        for (int user = 0; user < signatures.size(); user++) {
+            if (user == query) {
+                continue;
+            }
+            top.add(MinHash.estimate(signatures.get(query), signatures.get(user)));
+            if (top.size() > TOP_K) {
+                top.poll();
+            }
+        }
+        return top.isEmpty() ? 0 : top.peek();
+    }
+
+    // 인기 있는 나라에 몰리는 분포로 3~27개 나라
+    private static Set<String> randomCountries(Random random) {
+        int size = 3 + random.nextInt(25);
+        Set<String> countries = new HashSet<>();
+        while (countries.size() < size) {
+            int country = (int) Math.min(COUNTRIES - 1, Math.abs(random.nextGaussian() * 50));
+            countries.add("C" + country);
+        }
+        return countries;
+    }
+}
@@ -0,0 +1,57 @@
+package com.core.constella.global.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MinHashTest {
+
+    private static List<String> codes(int from, int to) {
+        List<String> codes = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            codes.add("C" + i);
+        }
+        return codes;
+    }
+
+    @Test
+    void estimateIsCloseToJaccard() {
+        // |A∩B| = 20, |A∪B| = 60
+        double estimate = MinHash.estimate(MinHash.signature(codes(0, 40)), MinHash.signature(codes(20, 60)));
+        assertEquals(1.0 / 3, estimate, 0.15);
+        assertEquals(1.0, MinHash.estimate(MinHash.signature(codes(0, 10)), MinHash.signature(codes(0, 10))));
+    }
+
+    @Test
+    void addingElementMatchesRecomputedSignature() {
+        int[] signature = MinHash.signature(Set.of("KOR", "JPN"));
+        MinHash.add(signature, "USA");
+        assertArrayEquals(MinHash.signature(List.of("USA", "JPN", "KOR")), signature);
+        assertArrayEquals(signature, MinHash.fromBytes(MinHash.toBytes(signature)));
+    }
+
+    @Test
+    void indexFindsSimilarSetsAndSkipsSelf() {
+        LshIndex index = new LshIndex(1000);
+        index.put(1, MinHash.signature(codes(0, 10)));
+        index.put(2, MinHash.signature(codes(0, 10)));
+        index.put(3, MinHash.signature(codes(1, 10)));
+        index.put(4, MinHash.signature(codes(100, 110)));
+
+        List<LshIndex.Match> matches = index.query(MinHash.signature(codes(0, 10)), 10, 1);
+        assertEquals(2L, matches.get(0).id());
+        assertEquals(1.0, matches.get(0).similarity());
+        assertTrue(matches.stream().anyMatch(match -> match.id() == 3L));
+        assertTrue(matches.stream().noneMatch(match -> match.id() == 1L || match.id() == 4L));
+
+        // 교체하면 이전 버킷에서 빠짐
+        index.put(2, MinHash.signature(codes(200, 210)));
+        assertTrue(index.query(MinHash.signature(codes(0, 10)), 10, 1).stream().noneMatch(match -> match.id() == 2L));
+    }
+}